@@ -32,7 +32,7 @@ public class MainActivity extends AppCompatActivity implements SpinningWheelView
             public void onClick(View v) {
                 // max angle 50
                 // duration 10 second
-                // every 50 ms rander rotation
+                // max angle is rotated per 50 ms, rendered on every frame
                 wheelView.rotate(50, 3000, 50);
             }
         });
@@ -0,0 +1,28 @@
+package com.adefruandta.spinningwheel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Hit test throughput, called on every touch event.
+ */
+@State(Scope.Thread)
+public class CircleBenchmark {
+
+    private Circle circle;
+
+    private float x;
+
+    @Setup
+    public void setUp() {
+        circle = new Circle(1080, 1080);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        x = (x + 7) % 1080;
+        return circle.contains(x, 540);
+    }
+}
@@ -0,0 +1,53 @@
+package com.adefruandta.spinningwheel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Latency of resolving the item under the arrow, used by getSelectedItem.
+ */
+@State(Scope.Thread)
+public class SelectionBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int itemCount;
+
+    private WheelAngleTable equalTable;
+
+    private WheelAngleTable weightedTable;
+
+    private float angle;
+
+    @Setup
+    public void setUp() {
+        float[] weights = new float[itemCount];
+
+        for (int i = 0; i < itemCount; i++) {
+            weights[i] = 1 + i % 7;
+        }
+
+        equalTable = new WheelAngleTable();
+        equalTable.set(itemCount, null);
+
+        weightedTable = new WheelAngleTable();
+        weightedTable.set(itemCount, weights);
+    }
+
+    @Benchmark
+    public int equalItems() {
+        return equalTable.indexOf(nextAngle());
+    }
+
+    @Benchmark
+    public int weightedItems() {
+        return weightedTable.indexOf(nextAngle());
+    }
+
+    private float nextAngle() {
+        angle = (angle + 7.3f) % 360f;
+        return angle;
+    }
+}
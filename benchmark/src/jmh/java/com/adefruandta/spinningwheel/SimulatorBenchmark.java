@@ -0,0 +1,47 @@
+package com.adefruandta.spinningwheel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of a fairness audit of one million spins, single thread against every core.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SimulatorBenchmark {
+
+    private static final long SPINS = 1000000;
+
+    @Param({"10", "1000"})
+    public int itemCount;
+
+    private WheelSimulator simulator;
+
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        simulator = new WheelSimulator(itemCount, null)
+                .setMaxAngle(30, 60)
+                .setDuration(2000, 4000);
+    }
+
+    @Benchmark
+    public long[] singleThread() {
+        return simulator.run(seed++, SPINS);
+    }
+
+    @Benchmark
+    public long[] allCores() throws InterruptedException {
+        return simulator.run(seed++, SPINS, Runtime.getRuntime().availableProcessors());
+    }
+}
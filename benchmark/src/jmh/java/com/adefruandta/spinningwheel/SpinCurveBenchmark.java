@@ -0,0 +1,61 @@
+package com.adefruandta.spinningwheel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of one animation frame of every spin curve.
+ */
+@State(Scope.Thread)
+public class SpinCurveBenchmark {
+
+    private final static long DURATION = 3000;
+
+    // 120 Hz frame
+    private final static float FRAME = 1000f / 120f;
+
+    private WheelRotation wheelRotation;
+
+    private TargetRotation targetRotation;
+
+    private FlingRotation flingRotation;
+
+    private EasedRotation easedRotation;
+
+    private float elapsed;
+
+    @Setup
+    public void setUp() {
+        wheelRotation = WheelRotation.init(DURATION, 50).setMaxAngle(50);
+        targetRotation = new TargetRotation(3600 + 123, DURATION);
+        flingRotation = new FlingRotation().set(1440, 2);
+        easedRotation = new EasedRotation(3600 + 123, DURATION, WheelEasing.overshoot());
+    }
+
+    @Benchmark
+    public float wheelRotation() {
+        return wheelRotation.getAngle(nextFrame(wheelRotation));
+    }
+
+    @Benchmark
+    public float targetRotation() {
+        return targetRotation.getAngle(nextFrame(targetRotation));
+    }
+
+    @Benchmark
+    public float flingRotation() {
+        return flingRotation.getAngle(nextFrame(flingRotation));
+    }
+
+    @Benchmark
+    public float easedRotation() {
+        return easedRotation.getAngle(nextFrame(easedRotation));
+    }
+
+    private float nextFrame(SpinCurve curve) {
+        elapsed = (elapsed + FRAME) % curve.getDuration();
+        return elapsed;
+    }
+}
@@ -0,0 +1,51 @@
+package com.adefruandta.spinningwheel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of rebuilding the angle table and the level of detail of scalable mode,
+ * paid once when items or size change.
+ */
+@State(Scope.Thread)
+public class WheelLodBenchmark {
+
+    private final static float RADIUS = 540;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int itemCount;
+
+    private WheelAngleTable table;
+
+    private WheelLod lod;
+
+    private float[] weights;
+
+    @Setup
+    public void setUp() {
+        weights = new float[itemCount];
+
+        for (int i = 0; i < itemCount; i++) {
+            weights[i] = 1 + i % 7;
+        }
+
+        table = new WheelAngleTable();
+        table.set(itemCount, weights);
+        lod = new WheelLod();
+    }
+
+    @Benchmark
+    public WheelAngleTable angleTable() {
+        table.set(itemCount, weights);
+        return table;
+    }
+
+    @Benchmark
+    public WheelLod lod() {
+        lod.build(table, (float) Math.toDegrees(2 / RADIUS), (float) Math.toDegrees(30 / (RADIUS / 2)));
+        return lod;
+    }
+}
@@ -0,0 +1,154 @@
+package com.adefruandta.spinningwheel;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.view.View;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * On device benchmark of SpinningWheelView, frame draw time against item count,
+ * selection latency and allocations per frame.
+ * Result is written as JSON in the external files dir of the test app and printed in logcat.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SpinningWheelViewBenchmark {
+
+    private static final String TAG = "WheelBenchmark";
+
+    private static final String RESULT_FILE = "spinningwheel-benchmark.json";
+
+    private static final int[] ITEM_COUNTS = {10, 50, 200, 1000};
+
+    private static final String[] MODES = {"default", "render_cache", "scalable"};
+
+    private static final int SIZE = 1080;
+
+    private static final int WARMUP_FRAMES = 50;
+
+    private static final int FRAMES = 300;
+
+    private static final int SELECTIONS = 100000;
+
+    @Test
+    public void benchmark() throws Exception {
+        Context context = InstrumentationRegistry.getTargetContext();
+        Bitmap bitmap = Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+
+        JSONArray results = new JSONArray();
+
+        for (String mode : MODES) {
+            for (int itemCount : ITEM_COUNTS) {
+                SpinningWheelView wheelView = createWheelView(context, mode, itemCount);
+                results.put(measure(wheelView, canvas, mode, itemCount));
+            }
+        }
+
+        bitmap.recycle();
+
+        JSONObject json = new JSONObject();
+        json.put("device", android.os.Build.MANUFACTURER + " " + android.os.Build.MODEL);
+        json.put("sdk", android.os.Build.VERSION.SDK_INT);
+        json.put("results", results);
+
+        File file = new File(context.getExternalFilesDir(null), RESULT_FILE);
+        FileWriter writer = new FileWriter(file);
+
+        try {
+            writer.write(json.toString(2));
+        } finally {
+            writer.close();
+        }
+
+        Log.i(TAG, "Result written to " + file.getAbsolutePath());
+        Log.i(TAG, json.toString());
+    }
+
+    private SpinningWheelView createWheelView(Context context, String mode, int itemCount) {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add("Item " + i);
+        }
+
+        SpinningWheelView wheelView = new SpinningWheelView(context);
+        wheelView.setColors(0);
+        wheelView.setItems(items);
+        wheelView.setRenderCacheEnabled("render_cache".equals(mode));
+        wheelView.setScalableEnabled("scalable".equals(mode));
+
+        int spec = View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY);
+        wheelView.measure(spec, spec);
+        wheelView.layout(0, 0, SIZE, SIZE);
+
+        return wheelView;
+    }
+
+    @SuppressWarnings("deprecation")
+    private JSONObject measure(SpinningWheelView wheelView, Canvas canvas, String mode, int itemCount) throws Exception {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            drawFrame(wheelView, canvas);
+        }
+
+        // frame draw time
+        long[] frames = new long[FRAMES];
+
+        for (int i = 0; i < FRAMES; i++) {
+            long start = System.nanoTime();
+            drawFrame(wheelView, canvas);
+            frames[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(frames);
+
+        // allocations per frame
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+
+        for (int i = 0; i < FRAMES; i++) {
+            drawFrame(wheelView, canvas);
+        }
+
+        Debug.stopAllocCounting();
+        float allocations = Debug.getThreadAllocCount() / (float) FRAMES;
+
+        // selection latency
+        long start = System.nanoTime();
+
+        for (int i = 0; i < SELECTIONS; i++) {
+            wheelView.rotate(7.3f);
+            wheelView.getSelectedIndex();
+        }
+
+        float selectionNanos = (System.nanoTime() - start) / (float) SELECTIONS;
+
+        JSONObject result = new JSONObject();
+        result.put("mode", mode);
+        result.put("itemCount", itemCount);
+        result.put("frameNanosP50", frames[FRAMES / 2]);
+        result.put("frameNanosP90", frames[FRAMES * 9 / 10]);
+        result.put("frameNanosMax", frames[FRAMES - 1]);
+        result.put("allocationsPerFrame", allocations);
+        result.put("selectionNanos", selectionNanos);
+        return result;
+    }
+
+    private void drawFrame(SpinningWheelView wheelView, Canvas canvas) {
+        wheelView.rotate(7.5f);
+        wheelView.draw(canvas);
+    }
+}
@@ -0,0 +1,70 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Angular velocity of a drag, from the recent angles of the finger around the wheel center.
+ * Samples are kept in a fixed ring buffer, adding a sample does not allocate.
+ */
+class AngularVelocityTracker {
+
+    private final static int SAMPLES = 20;
+
+    // Only the end of the gesture defines the fling
+    private final static long WINDOW = 100;
+
+    private final long[] times = new long[SAMPLES];
+
+    // cumulative drag angle, not wrapped
+    private final float[] angles = new float[SAMPLES];
+
+    private int count;
+
+    // index of the latest sample
+    private int last = -1;
+
+    public void clear() {
+        count = 0;
+        last = -1;
+    }
+
+    /**
+     * @param timeMillis: event time of the sample
+     * @param angle:      drag angle since the gesture start
+     */
+    public void addSample(long timeMillis, float angle) {
+        last = (last + 1) % SAMPLES;
+        times[last] = timeMillis;
+        angles[last] = angle;
+        count = Math.min(count + 1, SAMPLES);
+    }
+
+    /**
+     * @return degrees per second over the latest samples, positive is clockwise on screen
+     */
+    public float getVelocity() {
+        if (count < 2) {
+            return 0;
+        }
+
+        long endTime = times[last];
+        int oldest = last;
+
+        // oldest sample inside the window
+        for (int i = 1; i < count; i++) {
+            int index = (last - i + SAMPLES) % SAMPLES;
+
+            if (endTime - times[index] > WINDOW) {
+                break;
+            }
+
+            oldest = index;
+        }
+
+        long duration = endTime - times[oldest];
+
+        if (duration <= 0) {
+            return 0;
+        }
+
+        return (angles[last] - angles[oldest]) * 1000f / duration;
+    }
+}
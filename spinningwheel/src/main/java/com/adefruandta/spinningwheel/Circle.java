@@ -1,8 +1,5 @@
 package com.adefruandta.spinningwheel;
 
-import android.graphics.Matrix;
-import android.graphics.Point;
-
 /**
  * Created by adefruandta on 3/12/17.
  */
@@ -15,20 +12,27 @@ class Circle {
 
     private float radius;
 
-    private Matrix matrix;
-
     public Circle() {
-        matrix = new Matrix();
     }
 
     public Circle(float width, float height) {
         this();
 
+        set(width, height);
+    }
+
+    public void set(float width, float height) {
         cx = width / 2f;
         cy = height / 2f;
         radius = Math.min(cx, cy);
     }
 
+    public void set(float cx, float cy, float radius) {
+        this.cx = cx;
+        this.cy = cy;
+        this.radius = radius;
+    }
+
     public float getCx() {
         return cx;
     }
@@ -46,25 +50,4 @@ class Circle {
         y = cy - y;
         return x * x + y * y <= radius * radius;
     }
-
-    public Point rotate(float angle, float x, float y) {
-        // This is to onRotate about the Rectangles center
-        matrix.setRotate(angle, cx, cy);
-
-        // Create new float[] to hold the rotated coordinates
-        float[] pts = new float[2];
-
-        // Initialize the array with our Coordinate
-        pts[0] = x;
-        pts[1] = y;
-
-        // Use the Matrix to map the points
-        matrix.mapPoints(pts);
-
-        // NOTE: pts will be changed by transform.mapPoints call
-        // after the call, pts will hold the new cooridnates
-
-        // Now, create a new Point from our new coordinates
-        return new Point((int) pts[0], (int) pts[1]);
-    }
 }
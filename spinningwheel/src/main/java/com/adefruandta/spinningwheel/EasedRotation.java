@@ -0,0 +1,38 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Rotation curve that travels a given distance following a {@link WheelEasing} profile.
+ */
+class EasedRotation implements SpinCurve {
+
+    private final float distance;
+
+    private final long duration;
+
+    private final WheelEasing easing;
+
+    /**
+     * @param distance: total angle to travel
+     * @param duration: time in millis until the rotation stop
+     */
+    public EasedRotation(float distance, long duration, WheelEasing easing) {
+        this.distance = distance;
+        this.duration = duration;
+        this.easing = easing;
+    }
+
+    @Override
+    public long getDuration() {
+        return duration;
+    }
+
+    @Override
+    public float getAngle(float elapsed) {
+        // land exactly on the distance, whatever the curve end
+        if (elapsed >= duration) {
+            return distance;
+        }
+
+        return distance * easing.getInterpolation(elapsed / duration);
+    }
+}
@@ -0,0 +1,58 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Rotation curve of a flung wheel, slowed down by friction.
+ * Angular velocity decay exponentially, v(t) = v0 * e^(-friction * t),
+ * the wheel stop once the velocity is below {@link #STOP_VELOCITY}.
+ * Instance is reusable, so a gesture does not allocate a new curve.
+ */
+class FlingRotation implements SpinCurve {
+
+    // degree per second, below it the wheel looks stopped
+    private final static float STOP_VELOCITY = 5f;
+
+    private final static float MILLIS_PER_SECOND = 1000f;
+
+    // degree per millis
+    private float velocity;
+
+    // per millis
+    private float friction;
+
+    private long duration;
+
+    /**
+     * @param velocity: initial angular velocity in degree per second, negative for counter clockwise
+     * @param friction: decay rate per second, higher stop sooner
+     */
+    public FlingRotation set(float velocity, float friction) {
+        float speed = Math.abs(velocity);
+
+        this.velocity = velocity / MILLIS_PER_SECOND;
+        this.friction = friction / MILLIS_PER_SECOND;
+
+        if (speed <= STOP_VELOCITY || friction <= 0) {
+            duration = 0;
+        }
+        else {
+            duration = (long) (Math.log(speed / STOP_VELOCITY) / this.friction);
+        }
+
+        return this;
+    }
+
+    @Override
+    public long getDuration() {
+        return duration;
+    }
+
+    @Override
+    public float getAngle(float elapsed) {
+        if (duration == 0) {
+            return 0;
+        }
+
+        float t = Math.max(0, Math.min(elapsed, duration));
+        return (float) (velocity / friction * (1 - Math.exp(-friction * t)));
+    }
+}
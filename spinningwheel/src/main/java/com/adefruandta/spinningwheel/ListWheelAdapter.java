@@ -0,0 +1,62 @@
+package com.adefruandta.spinningwheel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Adapter of a list, {@link #setItems(List)} notify only the difference with the previous items.
+ * Override {@link #getLabel(int)} and {@link #getWeight(int)} to customize the wedges.
+ */
+public class ListWheelAdapter<T> extends WheelAdapter<T> {
+
+    private final WheelDiff.Callback<T> callback;
+
+    private List<T> items = Collections.emptyList();
+
+    // items are the same when equal, content never changes
+    public ListWheelAdapter() {
+        this(new WheelDiff.Callback<T>() {
+            @Override
+            public boolean areItemsTheSame(T oldItem, T newItem) {
+                return oldItem == null ? newItem == null : oldItem.equals(newItem);
+            }
+
+            @Override
+            public boolean areContentsTheSame(T oldItem, T newItem) {
+                return true;
+            }
+        });
+    }
+
+    /**
+     * @param callback: identify items and their content changes, e.g. by id and by label
+     */
+    public ListWheelAdapter(WheelDiff.Callback<T> callback) {
+        this.callback = callback;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Replace the items, the list is copied
+     */
+    public void setItems(List<T> items) {
+        List<T> oldItems = this.items;
+        this.items = items == null ? Collections.<T>emptyList() : new ArrayList<>(items);
+
+        WheelDiff.calculate(oldItems, this.items, callback).dispatchUpdatesTo(this);
+    }
+
+    @Override
+    public int getCount() {
+        return items.size();
+    }
+
+    @Override
+    public T getItem(int position) {
+        return items.get(position);
+    }
+}
@@ -0,0 +1,349 @@
+package com.adefruandta.spinningwheel;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.os.Build;
+import android.support.annotation.RequiresApi;
+import android.support.v4.os.TraceCompat;
+import android.support.v4.view.ViewCompat;
+import android.util.AttributeSet;
+import android.view.Display;
+import android.view.MotionEvent;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Concentric rings in one view, e.g. a prize ring around a multiplier ring.
+ * Every ring has its own items, style, rotation and spin, see {@link WheelRing}.
+ * Rings are drawn in one pass with one arrow at the top, each ring only fills its band,
+ * and a touch rotates the ring under the finger.
+ * Ring style starts from the {@code Wheel} attributes of the view, {@code wheel_lifecycle_policy} applies to every ring.
+ */
+public class MultiRingWheelView extends View {
+
+    // region static attr
+
+    private final static String TRACE_DRAW = "SpinningWheel:drawRings";
+
+    // endregion
+
+    // region attr
+
+    // base style of the new rings
+    private final WheelStyle style = new WheelStyle();
+
+    // outer ring first
+    private final List<WheelRing> rings = new ArrayList<>();
+
+    private final Circle circle = new Circle();
+
+    private final WheelDispatcher dispatcher = new WheelDispatcher(this);
+
+    // ring receiving the current gesture, null if none
+    private WheelRing touchRing;
+
+    private int lifecyclePolicy = SpinningWheelView.LIFECYCLE_RESUME;
+
+    // endregion
+
+    // region constructor
+
+    public MultiRingWheelView(Context context) {
+        super(context);
+        init();
+    }
+
+    public MultiRingWheelView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        init();
+        initAttrs(attrs);
+    }
+
+    public MultiRingWheelView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init();
+        initAttrs(attrs);
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+    public MultiRingWheelView(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes);
+        init();
+        initAttrs(attrs);
+    }
+
+    // endregion
+
+    // region life cycle
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+
+        circle.set(w, h);
+        layoutRings();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        if (style.getImageCache() != null) {
+            style.getImageCache().registerComponentCallbacks(getContext());
+        }
+
+        updateSpinState(isActive());
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        updateSpinState(false);
+
+        for (WheelRing ring : rings) {
+            ring.release();
+        }
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+
+        updateSpinState(isActive());
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+
+        updateSpinState(isActive());
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+
+        TraceCompat.beginSection(TRACE_DRAW);
+
+        try {
+            boolean animating = false;
+
+            // inner rings first, the arrow of the outer ring stays on top
+            for (int i = rings.size() - 1; i >= 0; i--) {
+                WheelRing ring = rings.get(i);
+                ring.draw(canvas, i == 0);
+                animating |= ring.isAnimating();
+            }
+
+            if (animating) {
+                ViewCompat.postInvalidateOnAnimation(this);
+            }
+        } finally {
+            TraceCompat.endSection();
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        int action = event.getActionMasked();
+
+        if (action == MotionEvent.ACTION_DOWN) {
+            touchRing = getRingAt(event.getX(), event.getY());
+        }
+
+        if (touchRing == null) {
+            return false;
+        }
+
+        boolean handled = touchRing.onTouchEvent(event);
+
+        // a spinning ring ignores the gesture, a linear drag only ignores the moves outside the ring
+        if ((!handled && action == MotionEvent.ACTION_DOWN)
+                || action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+            touchRing = null;
+        }
+
+        return handled;
+    }
+
+    // endregion
+
+    // region Functionality
+
+    /**
+     * Add a ring, rings are ordered by radius whatever the order they are added
+     * A ring fills the band between its radius and the radius of the next smaller ring,
+     * the smallest ring is a full wheel.
+     *
+     * @param radius: outer radius relative to the wheel radius, from 0 exclusive to 1, one ring per radius
+     * @return the new ring, style starts from the attributes of the view
+     */
+    public WheelRing addRing(float radius) {
+        if (radius <= 0 || radius > 1) {
+            throw new IllegalArgumentException("Ring radius must be in (0, 1]: " + radius);
+        }
+
+        int index = 0;
+
+        while (index < rings.size() && rings.get(index).getRadius() > radius) {
+            index++;
+        }
+
+        // the larger ring would get an empty band
+        if (index < rings.size() && rings.get(index).getRadius() == radius) {
+            throw new IllegalArgumentException("Ring radius already used: " + radius);
+        }
+
+        WheelRing ring = new WheelRing(this, style, radius);
+
+        rings.add(index, ring);
+        layoutRings();
+        invalidate();
+
+        return ring;
+    }
+
+    public void removeRing(WheelRing ring) {
+        if (!rings.remove(ring)) {
+            return;
+        }
+
+        ring.updateSpinState(false);
+        ring.release();
+
+        if (touchRing == ring) {
+            touchRing = null;
+        }
+
+        layoutRings();
+        invalidate();
+    }
+
+    /**
+     * @return rings from the outer to the inner one
+     */
+    public List<WheelRing> getRings() {
+        return Collections.unmodifiableList(rings);
+    }
+
+    public WheelRing getRing(int index) {
+        return rings.get(index);
+    }
+
+    /**
+     * Ring under a point, by distance from the center
+     *
+     * @return smallest ring containing the point, null outside the wheel
+     */
+    public WheelRing getRingAt(float x, float y) {
+        for (int i = rings.size() - 1; i >= 0; i--) {
+            WheelRing ring = rings.get(i);
+
+            if (ring.contains(x, y)) {
+                return ring;
+            }
+        }
+
+        return null;
+    }
+
+    public int getLifecyclePolicy() {
+        return lifecyclePolicy;
+    }
+
+    /**
+     * Behaviour of the running spins while the wheel is hidden or detached, see {@link SpinningWheelView#setLifecyclePolicy(int)}
+     *
+     * @param lifecyclePolicy: {@link SpinningWheelView#LIFECYCLE_RESUME} or {@link SpinningWheelView#LIFECYCLE_FINISH}
+     */
+    public void setLifecyclePolicy(int lifecyclePolicy) {
+        this.lifecyclePolicy = lifecyclePolicy;
+        updateSpinState(isActive());
+    }
+
+    public Executor getListenerExecutor() {
+        return dispatcher.getListenerExecutor();
+    }
+
+    /**
+     * Call the rotation listeners of every ring on the executor
+     *
+     * @param listenerExecutor: null to call the listeners on the main thread
+     */
+    public void setListenerExecutor(Executor listenerExecutor) {
+        dispatcher.setListenerExecutor(listenerExecutor);
+    }
+
+    // endregion
+
+    // region methods
+
+    private void init() {
+        style.setImageCache(WheelImageCache.getDefault());
+    }
+
+    private void initAttrs(AttributeSet attrs) {
+        if (attrs == null) {
+            return;
+        }
+
+        TypedArray typedArray = getContext().obtainStyledAttributes(attrs, R.styleable.Wheel, 0, 0);
+
+        try {
+            style.load(getContext(), typedArray, isInEditMode());
+
+            lifecyclePolicy = typedArray.getInt(R.styleable.Wheel_wheel_lifecycle_policy,
+                    SpinningWheelView.LIFECYCLE_RESUME);
+        } finally {
+            typedArray.recycle();
+        }
+    }
+
+    // Bands of the rings in the view circle
+    private void layoutRings() {
+        for (int i = 0; i < rings.size(); i++) {
+            WheelRing ring = rings.get(i);
+            float innerRadius = i + 1 < rings.size() ? rings.get(i + 1).getRadius() * circle.getRadius() : 0;
+
+            ring.setBounds(circle.getCx(), circle.getCy(), ring.getRadius() * circle.getRadius(), innerRadius);
+        }
+    }
+
+    private void updateSpinState(boolean active) {
+        for (WheelRing ring : rings) {
+            ring.updateSpinState(active);
+        }
+    }
+
+    WheelDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    // Attached and drawn on screen
+    boolean isActive() {
+        return ViewCompat.isAttachedToWindow(this) && getWindowVisibility() == VISIBLE && isShown();
+    }
+
+    // Refresh period of the display showing the view, in nanos
+    long getFrameInterval() {
+        Display display = ViewCompat.getDisplay(this);
+
+        if (display == null || display.getRefreshRate() <= 0) {
+            return SpinEngine.FRAME_INTERVAL;
+        }
+
+        return (long) (1000000000L / display.getRefreshRate());
+    }
+
+    // endregion
+}
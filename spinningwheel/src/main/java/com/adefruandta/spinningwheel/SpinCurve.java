@@ -0,0 +1,19 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Describe how far the wheel has travelled at a given time of a spin.
+ * Must be pure math without side effect, so it can be evaluated at any frame time.
+ */
+interface SpinCurve {
+
+    /**
+     * @return duration of the spin in millis
+     */
+    long getDuration();
+
+    /**
+     * @param elapsed: time in millis since the spin started, between 0 and {@link #getDuration()}
+     * @return total angle travelled since the spin started
+     */
+    float getAngle(float elapsed);
+}
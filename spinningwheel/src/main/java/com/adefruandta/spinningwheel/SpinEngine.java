@@ -0,0 +1,113 @@
+package com.adefruandta.spinningwheel;
+
+import android.support.v4.os.TraceCompat;
+import android.view.Choreographer;
+
+/**
+ * Drive the spin of a {@link WheelModel} on the display frame clock.
+ * Angle is computed from the frame time, so the motion is vsync aligned at any refresh rate
+ * and does not depend on callback jitter.
+ */
+class SpinEngine implements Choreographer.FrameCallback {
+
+    private final static String TRACE_FRAME = "SpinningWheel:spinFrame";
+
+    // 60 Hz, when the display is unknown
+    final static long FRAME_INTERVAL = 16666667;
+
+    private Choreographer choreographer;
+
+    private WheelModel model;
+
+    private boolean running;
+
+    private WheelMetricsListener metricsListener;
+
+    private long frameInterval = FRAME_INTERVAL;
+
+    // frame time of the previous spin frame, -1 on the first frame
+    private long lastFrameTime = -1;
+
+    public SpinEngine(WheelModel model) {
+        this.model = model;
+    }
+
+    public void setModel(WheelModel model) {
+        cancel();
+        this.model = model;
+    }
+
+    public void start() {
+        if (running) {
+            return;
+        }
+
+        if (choreographer == null) {
+            // must be created on a looper thread, usually the main thread
+            choreographer = Choreographer.getInstance();
+        }
+
+        running = true;
+        choreographer.postFrameCallback(this);
+    }
+
+    public void cancel() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        lastFrameTime = -1;
+        choreographer.removeFrameCallback(this);
+    }
+
+    public void setMetricsListener(WheelMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * @param frameInterval: display refresh period in nanos, used to count missed frames
+     */
+    public void setFrameInterval(long frameInterval) {
+        this.frameInterval = frameInterval;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) {
+            return;
+        }
+
+        TraceCompat.beginSection(TRACE_FRAME);
+
+        try {
+            if (metricsListener != null && lastFrameTime >= 0) {
+                long interval = frameTimeNanos - lastFrameTime;
+                metricsListener.onSpinFrame(interval, getMissedFrames(interval, frameInterval));
+            }
+
+            lastFrameTime = frameTimeNanos;
+
+            // listeners may start a new spin during the update
+            running = false;
+
+            if (model.update(frameTimeNanos)) {
+                start();
+            }
+            else {
+                lastFrameTime = -1;
+            }
+        } finally {
+            TraceCompat.endSection();
+        }
+    }
+
+    // Display frames skipped between two frames
+    static int getMissedFrames(long interval, long frameInterval) {
+        return Math.max(0, Math.round((float) interval / frameInterval) - 1);
+    }
+}
@@ -0,0 +1,1269 @@
+package com.adefruandta.spinningwheel;
+
+import android.animation.TimeInterpolator;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.PorterDuff;
+import android.graphics.SurfaceTexture;
+import android.graphics.Typeface;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.support.annotation.ArrayRes;
+import android.support.annotation.RawRes;
+import android.support.annotation.RequiresApi;
+import android.support.v4.os.TraceCompat;
+import android.support.v4.view.ViewCompat;
+import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.MotionEvent;
+import android.view.Surface;
+import android.view.TextureView;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Wheel rendered and animated on its own thread, so the spin stays smooth when the main thread is busy.
+ * Same attributes ({@code R.styleable.Wheel}) and listener as {@link SpinningWheelView}.
+ * The main thread hands items, angle and style to the render thread through atomic references and
+ * never waits for it, the render thread reports the angle back the same way.
+ */
+public class SpinningWheelTextureView extends TextureView
+        implements TextureView.SurfaceTextureListener, WheelModel.OnChangeListener {
+
+    // region static attr
+
+    private final static String TRACE_FRAME = "SpinningWheel:renderFrame";
+
+    // endregion
+
+    // region attr
+
+    // Style, model and listeners, the model angle is not updated while the render thread spins the wheel.
+    // The angle of the controller is the rendered angle.
+    private final WheelController controller = new WheelController(this, this, new WheelController.Host() {
+        @Override
+        public void onStyleChanged() {
+            SpinningWheelTextureView.this.onStyleChanged();
+        }
+
+        @Override
+        public void rotateModel(float angle) {
+            // the render thread owns the angle while spinning
+            if (spinCurve == null) {
+                getModel().rotate(angle);
+            }
+        }
+
+        @Override
+        public void syncAngle() {
+            SpinningWheelTextureView.this.syncAngle();
+        }
+
+        @Override
+        public void spin(SpinCurve curve) {
+            rotate(curve);
+        }
+
+        @Override
+        public void fling(SpinCurve curve) {
+            startSpin(curve);
+        }
+
+        @Override
+        public void onTick(WheelModel model, int crossings) {
+            // ticks of the drag, the model only jumps to the spin end otherwise
+            if (!syncing) {
+                controller.getTickFeedback().onTick(model, crossings);
+            }
+        }
+
+        @Override
+        public void updateSpinState(boolean active) {
+            SpinningWheelTextureView.this.updateSpinState(active);
+        }
+
+        @Override
+        public int getSelectedIndex() {
+            return SpinningWheelTextureView.this.getSelectedIndex();
+        }
+    });
+
+    // a copy of the style is handed to the render thread once on the next frame
+    private boolean stylePending;
+
+    private final Runnable publishStyle = new Runnable() {
+        @Override
+        public void run() {
+            stylePending = false;
+            pendingStyle.set(new WheelStyle(controller.getStyle()));
+            requestFrame();
+        }
+    };
+
+    private final Circle circle = new Circle();
+
+    // Running spin, to finish it when the surface is destroyed
+    private SpinCurve spinCurve;
+
+    private float spinStartAngle;
+
+    private int spinId;
+
+    // model is updated from the render thread, do not hand it back
+    private boolean syncing;
+
+    // Main thread to render thread
+    private final AtomicReference<WheelStyle> pendingStyle = new AtomicReference<>();
+
+    private final AtomicReference<Items> pendingItems = new AtomicReference<>();
+
+    // Labels of the adapter items, or ImageLabel, kept in sync with the notified ranges, null until read.
+    // Unchanged labels keep their instance, so the render thread only rebuilds the changed ones.
+    private final List<Object> labels = new ArrayList<>();
+
+    private boolean labelsPending;
+
+    // Ranges are notified one by one against the final adapter items, labels are read once all are applied
+    private final Runnable publishLabels = new Runnable() {
+        @Override
+        public void run() {
+            labelsPending = false;
+
+            WheelModel model = getModel();
+
+            if (!model.hasAdapter() || labels.size() != model.getItemSize()) {
+                return;
+            }
+
+            for (int i = 0; i < labels.size(); i++) {
+                if (labels.get(i) == null) {
+                    labels.set(i, createLabel(i));
+                }
+            }
+
+            pendingItems.set(createItems());
+            requestFrame();
+        }
+    };
+
+    private final AtomicReference<Motion> pendingMotion = new AtomicReference<>();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Render thread to main thread, index under the arrow after the latest wedge crossing
+    private final AtomicInteger renderSelection = new AtomicInteger(-1);
+
+    private final AtomicBoolean selectionPosted = new AtomicBoolean();
+
+    private final Runnable dispatchSelection = new Runnable() {
+        @Override
+        public void run() {
+            selectionPosted.set(false);
+            controller.updateSelection(renderSelection.get());
+        }
+    };
+
+    private RenderThread renderThread;
+
+    // endregion
+
+    // region constructor
+
+    public SpinningWheelTextureView(Context context) {
+        super(context);
+        init();
+    }
+
+    public SpinningWheelTextureView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        init();
+        controller.loadAttrs(attrs);
+    }
+
+    public SpinningWheelTextureView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init();
+        controller.loadAttrs(attrs);
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+    public SpinningWheelTextureView(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes);
+        init();
+        controller.loadAttrs(attrs);
+    }
+
+    // endregion
+
+    // region life cycle
+
+    @Override
+    public void onSurfaceTextureAvailable(SurfaceTexture surfaceTexture, int width, int height) {
+        circle.set(width, height);
+
+        renderThread = new RenderThread(surfaceTexture, width, height, controller.getFrameInterval());
+        renderThread.startRendering();
+        renderThread.setPaused(!controller.isActive());
+
+        // new render thread start from scratch
+        pendingStyle.set(new WheelStyle(controller.getStyle()));
+        pendingItems.set(createItems());
+        pendingMotion.set(new Motion(getModel().getAngle(), null, spinId, 0));
+        renderThread.requestFrame();
+    }
+
+    @Override
+    public void onSurfaceTextureSizeChanged(SurfaceTexture surfaceTexture, int width, int height) {
+        circle.set(width, height);
+
+        if (renderThread != null) {
+            renderThread.setSize(width, height);
+        }
+    }
+
+    @Override
+    public boolean onSurfaceTextureDestroyed(SurfaceTexture surfaceTexture) {
+        if (renderThread != null) {
+            // surface texture is released on return, wait for the last frame
+            renderThread.stopRendering();
+            renderThread = null;
+        }
+
+        // nothing animates the spin anymore, jump to its end
+        if (spinCurve != null) {
+            stopSpin(spinStartAngle + spinCurve.getAngle(spinCurve.getDuration()));
+        }
+
+        return true;
+    }
+
+    @Override
+    public void onSurfaceTextureUpdated(SurfaceTexture surfaceTexture) {
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        controller.onAttachedToWindow();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        controller.onDetachedFromWindow();
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+
+        updateSpinState(controller.isActive());
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+
+        updateSpinState(controller.isActive());
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        return controller.onTouchEvent(event, circle);
+    }
+
+    // endregion
+
+    // region model listener
+
+    @Override
+    public void onRotate(WheelModel model, float angle) {
+        if (!syncing && spinCurve == null) {
+            controller.setAngle(model.getAngle());
+            publishMotion(null, 0);
+        }
+
+        controller.dispatchRotation(angle);
+    }
+
+    @Override
+    public void onItemsChanged(WheelModel model) {
+        controller.resetSelection(model.getSelectedIndex());
+        labels.clear();
+
+        if (model.hasAdapter()) {
+            for (int i = 0; i < model.getItemSize(); i++) {
+                labels.add(createLabel(i));
+            }
+        }
+
+        pendingItems.set(createItems());
+        requestFrame();
+    }
+
+    @Override
+    public void onItemRangeChanged(WheelModel model, int positionStart, int itemCount) {
+        for (int i = positionStart; i < positionStart + itemCount; i++) {
+            labels.set(i, null);
+        }
+
+        postLabels();
+    }
+
+    @Override
+    public void onItemRangeInserted(WheelModel model, int positionStart, int itemCount) {
+        labels.addAll(positionStart, Collections.nCopies(itemCount, null));
+
+        postLabels();
+    }
+
+    @Override
+    public void onItemRangeRemoved(WheelModel model, int positionStart, int itemCount) {
+        labels.subList(positionStart, positionStart + itemCount).clear();
+
+        postLabels();
+    }
+
+    @Override
+    public void onSpinStop(WheelModel model) {
+        // spin of a shared model is rendered angle by angle, see onRotate
+    }
+
+    // endregion
+
+    // region Functionality
+
+    /**
+     * Rotate without animation, ignored while the wheel is spinning
+     * Callable from any thread, see {@link SpinningWheelView#rotate(float)}
+     */
+    public void rotate(float angle) {
+        controller.rotate(angle);
+    }
+
+    /**
+     * Rotate wheel with animation on the render thread, callable from any thread
+     *
+     * @param maxAngle: Max angle rotated per interval
+     * @param duration: time in millis wheel for rotation
+     * @param interval: time unit of max angle
+     */
+    public void rotate(float maxAngle, long duration, long interval) {
+        controller.rotate(maxAngle, duration, interval);
+    }
+
+    /**
+     * Rotate wheel with animation and stop on the given item, see {@link SpinningWheelView#spinTo(int, int, long)}
+     *
+     * Callable from any thread.
+     *
+     * @param index: position of the item to stop on
+     * @param revolutions: full turns before reaching the item
+     * @param duration: time in millis wheel for rotation
+     */
+    public void spinTo(int index, int revolutions, long duration) {
+        controller.spinTo(index, revolutions, duration);
+    }
+
+    public float getWedgeJitter() {
+        return controller.getWedgeJitter();
+    }
+
+    /**
+     * Randomness of the stop position inside the wedge for {@link #spinTo(int, int, long)}
+     *
+     * @param wedgeJitter: 0 always stop on the wedge center, 1 stop anywhere in the wedge
+     */
+    public void setWedgeJitter(float wedgeJitter) {
+        controller.setWedgeJitter(wedgeJitter);
+    }
+
+    public WheelEasing getEasing() {
+        return controller.getEasing();
+    }
+
+    /**
+     * Slow down profile of {@link SpinningWheelView#rotate(float, long, long)} and {@link SpinningWheelView#spinTo(int, int, long)}
+     *
+     * @param easing: e.g. {@link WheelEasing#cubicDecelerate()}, null for the legacy curves
+     */
+    public void setEasing(WheelEasing easing) {
+        controller.setEasing(easing);
+    }
+
+    /**
+     * @param interpolator: custom slow down profile, sampled once
+     */
+    public void setEasingInterpolator(TimeInterpolator interpolator) {
+        controller.setEasingInterpolator(interpolator);
+    }
+
+    public WheelModel getModel() {
+        return controller.getModel();
+    }
+
+    /**
+     * Render the given model, the model must be used on the main thread only
+     */
+    public void setModel(WheelModel model) {
+        controller.setModel(model);
+        controller.setAngle(model.getAngle());
+        spinCurve = null;
+
+        onItemsChanged(model);
+        publishMotion(null, 0);
+    }
+
+    // Rotate wheel following the curve, on the render thread frame clock
+    void rotate(SpinCurve curve) {
+        controller.notifyRotation();
+
+        syncAngle();
+        startSpin(curve);
+    }
+
+    /**
+     * Change several properties at once, see {@link SpinningWheelView#edit()}
+     */
+    public WheelEditor edit() {
+        return controller.edit();
+    }
+
+    public int getWheelStrokeColor() {
+        return controller.getWheelStrokeColor();
+    }
+
+    public void setWheelStrokeColor(int wheelStrokeColor) {
+        controller.setWheelStrokeColor(wheelStrokeColor);
+    }
+
+    public float getWheelStrokeWidth() {
+        return controller.getWheelStrokeWidth();
+    }
+
+    public void setWheelStrokeWidth(float wheelStrokeWidth) {
+        controller.setWheelStrokeWidth(wheelStrokeWidth);
+    }
+
+    public float getWheelTextSize() {
+        return controller.getWheelTextSize();
+    }
+
+    public void setWheelTextSize(float wheelTextSize) {
+        controller.setWheelTextSize(wheelTextSize);
+    }
+
+    public Typeface getWheelTypeface() {
+        return controller.getWheelTypeface();
+    }
+
+    public void setWheelTypeface(Typeface wheelTypeface) {
+        controller.setWheelTypeface(wheelTypeface);
+    }
+
+    public int getLabelMode() {
+        return controller.getLabelMode();
+    }
+
+    /**
+     * @param labelMode: {@link SpinningWheelView#LABEL_MODE_START}, {@link SpinningWheelView#LABEL_MODE_CENTER}
+     *                   or {@link SpinningWheelView#LABEL_MODE_MULTI_LINE}
+     */
+    public void setLabelMode(int labelMode) {
+        controller.setLabelMode(labelMode);
+    }
+
+    public int getLabelMaxLines() {
+        return controller.getLabelMaxLines();
+    }
+
+    public void setLabelMaxLines(int labelMaxLines) {
+        controller.setLabelMaxLines(labelMaxLines);
+    }
+
+    public int getWheelTextColor() {
+        return controller.getWheelTextColor();
+    }
+
+    public void setWheelTextColor(int wheelTextColor) {
+        controller.setWheelTextColor(wheelTextColor);
+    }
+
+    public int getWheelArrowColor() {
+        return controller.getWheelArrowColor();
+    }
+
+    public void setWheelArrowColor(int wheelArrowColor) {
+        controller.setWheelArrowColor(wheelArrowColor);
+    }
+
+    public void setWheelArrowWidth(float wheelArrowWidth) {
+        controller.setWheelArrowWidth(wheelArrowWidth);
+    }
+
+    public void setWheelArrowHeight(float wheelArrowHeight) {
+        controller.setWheelArrowHeight(wheelArrowHeight);
+    }
+
+    public int[] getColors() {
+        return controller.getColors();
+    }
+
+    public void setColors(int[] colors) {
+        controller.setColors(colors);
+    }
+
+    // Set colors with array res
+    // Minimal length 3
+    public void setColors(@ArrayRes int colorsResId) {
+        controller.setColors(colorsResId);
+    }
+
+    public List getItems() {
+        return controller.getItems();
+    }
+
+    public void setItems(List items) {
+        setItems(items, null);
+    }
+
+    /**
+     * Set items with proportional wedge size
+     * The list is copied for the render thread, call it again after modifying the list
+     *
+     * @param items:   items of the wheel
+     * @param weights: weight of every item, same length as items, null for equal wedges
+     */
+    public void setItems(List items, float[] weights) {
+        controller.setItems(items, weights);
+    }
+
+    public float[] getItemWeights() {
+        return controller.getItemWeights();
+    }
+
+    /**
+     * @param weights: weight of every item, same length as items, null for equal wedges
+     */
+    public void setItemWeights(float[] weights) {
+        controller.setItemWeights(weights);
+    }
+
+    public void setItems(@ArrayRes int itemsResId) {
+        controller.setItems(itemsResId);
+    }
+
+    public WheelAdapter getAdapter() {
+        return controller.getAdapter();
+    }
+
+    /**
+     * Take items from an adapter instead of a list, see {@link WheelModel#setAdapter(WheelAdapter)}
+     * The render thread receives the labels, adapter items are only read on the main thread.
+     *
+     * @param adapter: items of the wheel, null to remove every item
+     */
+    public void setAdapter(WheelAdapter adapter) {
+        controller.setAdapter(adapter);
+    }
+
+    public SpinningWheelView.OnRotationListener getOnRotationListener() {
+        return controller.getOnRotationListener();
+    }
+
+    public void setOnRotationListener(SpinningWheelView.OnRotationListener onRotationListener) {
+        controller.setOnRotationListener(onRotationListener);
+    }
+
+    public SpinningWheelView.OnSelectionChangeListener getOnSelectionChangeListener() {
+        return controller.getOnSelectionChangeListener();
+    }
+
+    /**
+     * See {@link SpinningWheelView#setOnSelectionChangeListener(SpinningWheelView.OnSelectionChangeListener)},
+     * wedge crossings are computed by the render thread
+     */
+    public void setOnSelectionChangeListener(SpinningWheelView.OnSelectionChangeListener onSelectionChangeListener) {
+        controller.setOnSelectionChangeListener(onSelectionChangeListener);
+    }
+
+    public SpinningWheelView.OnAngleChangeListener getOnAngleChangeListener() {
+        return controller.getOnAngleChangeListener();
+    }
+
+    /**
+     * @param angleChangeInterval: min millis between two calls, 0 for every frame
+     */
+    public void setOnAngleChangeListener(SpinningWheelView.OnAngleChangeListener onAngleChangeListener,
+                                         long angleChangeInterval) {
+        controller.setOnAngleChangeListener(onAngleChangeListener, angleChangeInterval);
+    }
+
+    public Executor getListenerExecutor() {
+        return controller.getListenerExecutor();
+    }
+
+    /**
+     * Call the rotation listener on the executor, e.g. a background service driving the wheel
+     *
+     * @param listenerExecutor: null to call the listener on the main thread
+     */
+    public void setListenerExecutor(Executor listenerExecutor) {
+        controller.setListenerExecutor(listenerExecutor);
+    }
+
+    /**
+     * @return angle rendered by the render thread, callable from any thread
+     */
+    public float getAngle() {
+        return controller.getAngle();
+    }
+
+    /**
+     * @return true while a spin started by this view runs, callable from any thread
+     */
+    public boolean isSpinning() {
+        return controller.isSpinning();
+    }
+
+    public boolean isRenderCacheEnabled() {
+        return controller.isRenderCacheEnabled();
+    }
+
+    public void setRenderCacheEnabled(boolean renderCacheEnabled) {
+        controller.setRenderCacheEnabled(renderCacheEnabled);
+    }
+
+    public WheelImageCache getImageCache() {
+        return controller.getImageCache();
+    }
+
+    public void setImageCache(WheelImageCache imageCache) {
+        controller.setImageCache(imageCache);
+    }
+
+    public boolean isSharedRenderCacheEnabled() {
+        return controller.isSharedRenderCacheEnabled();
+    }
+
+    /**
+     * Share the render cache bitmap with the wheels drawing the same items with the same style and size,
+     * e.g. rows of a list. Only used with the render cache, and not for wheels with images.
+     *
+     * @param sharedRenderCacheEnabled: true to share the render cache
+     */
+    public void setSharedRenderCacheEnabled(boolean sharedRenderCacheEnabled) {
+        controller.setSharedRenderCacheEnabled(sharedRenderCacheEnabled);
+    }
+
+    public boolean isFlingEnabled() {
+        return controller.isFlingEnabled();
+    }
+
+    public void setFlingEnabled(boolean flingEnabled) {
+        controller.setFlingEnabled(flingEnabled);
+    }
+
+    public int getDragMode() {
+        return controller.getDragMode();
+    }
+
+    /**
+     * @param dragMode: {@link SpinningWheelView#DRAG_MODE_LINEAR} (default) or {@link SpinningWheelView#DRAG_MODE_ANGULAR}
+     */
+    public void setDragMode(int dragMode) {
+        controller.setDragMode(dragMode);
+    }
+
+    public float getFlingFriction() {
+        return controller.getFlingFriction();
+    }
+
+    public void setFlingFriction(float flingFriction) {
+        controller.setFlingFriction(flingFriction);
+    }
+
+    public int getLifecyclePolicy() {
+        return controller.getLifecyclePolicy();
+    }
+
+    /**
+     * @param lifecyclePolicy: {@link SpinningWheelView#LIFECYCLE_RESUME} or {@link SpinningWheelView#LIFECYCLE_FINISH},
+     *                         a spin always finishes when the surface is destroyed
+     */
+    public void setLifecyclePolicy(int lifecyclePolicy) {
+        controller.setLifecyclePolicy(lifecyclePolicy);
+    }
+
+    public boolean isScalableEnabled() {
+        return controller.isScalableEnabled();
+    }
+
+    public void setScalableEnabled(boolean scalableEnabled) {
+        controller.setScalableEnabled(scalableEnabled);
+    }
+
+    public float getZoom() {
+        return controller.getZoom();
+    }
+
+    public void setZoom(float zoom) {
+        controller.setZoom(zoom);
+    }
+
+    public float getMinWedgeSize() {
+        return controller.getMinWedgeSize();
+    }
+
+    public void setMinWedgeSize(float minWedgeSize) {
+        controller.setMinWedgeSize(minWedgeSize);
+    }
+
+    public int getTickSound() {
+        return controller.getTickSound();
+    }
+
+    /**
+     * @param tickSoundResId: raw res of a short sample played when a wedge boundary passes the arrow, 0 for no sound
+     */
+    public void setTickSound(@RawRes int tickSoundResId) {
+        controller.setTickSound(tickSoundResId);
+    }
+
+    public boolean isTickHapticEnabled() {
+        return controller.isTickHapticEnabled();
+    }
+
+    public void setTickHapticEnabled(boolean tickHapticEnabled) {
+        controller.setTickHapticEnabled(tickHapticEnabled);
+    }
+
+    public WheelMetricsListener getMetricsListener() {
+        return controller.getMetricsListener();
+    }
+
+    /**
+     * Measure draw and touch time, spin start latency and missed frames, see {@link WheelMetrics}
+     * Draw and spin measures are reported on the render thread.
+     *
+     * @param metricsListener: null to stop measuring
+     */
+    public void setMetricsListener(WheelMetricsListener metricsListener) {
+        controller.setMetricsListener(metricsListener);
+    }
+
+    public <T> T getSelectedItem() {
+        return controller.getSelectedItem();
+    }
+
+    /**
+     * Index of item under the arrow, follow the angle rendered by the render thread while spinning
+     *
+     * @return selected index, -1 if wheel has no item
+     */
+    public int getSelectedIndex() {
+        if (spinCurve != null) {
+            return getModel().getIndexAt(controller.getAngle());
+        }
+
+        return getModel().getSelectedIndex();
+    }
+
+    // endregion
+
+    // region methods
+
+    private void init() {
+        setOpaque(false);
+        setSurfaceTextureListener(this);
+        setModel(new WheelModel());
+    }
+
+    // Any number of changes before the next frame publish one style
+    private void onStyleChanged() {
+        if (!stylePending) {
+            stylePending = true;
+            ViewCompat.postOnAnimation(this, publishStyle);
+        }
+    }
+
+    private void publishMotion(SpinCurve curve, long startTime) {
+        pendingMotion.set(new Motion(getModel().getAngle(), curve, spinId, startTime));
+        requestFrame();
+    }
+
+    private void requestFrame() {
+        if (renderThread != null) {
+            renderThread.requestFrame();
+        }
+    }
+
+    // Bring the model to the angle rendered by the running spin
+    private void syncAngle() {
+        if (spinCurve != null) {
+            setModelAngle(controller.getAngle());
+        }
+    }
+
+    private void setModelAngle(float angle) {
+        syncing = true;
+        getModel().rotate(angle - getModel().getAngle());
+        syncing = false;
+    }
+
+    private void startSpin(SpinCurve curve) {
+        controller.setSpinning(true);
+        spinCurve = curve;
+        spinStartAngle = getModel().getAngle();
+        spinId++;
+
+        controller.setAngle(spinStartAngle);
+        publishMotion(curve, controller.getMetricsListener() != null ? System.nanoTime() : 0);
+
+        if (renderThread == null) {
+            // not on screen, nothing to animate
+            stopSpin(spinStartAngle + curve.getAngle(curve.getDuration()));
+        }
+    }
+
+    // Render frames only while the wheel is on screen, the spin time keeps running on the frame clock
+    private void updateSpinState(boolean active) {
+        if (renderThread != null) {
+            renderThread.setPaused(!active);
+        }
+
+        if (!active && controller.getLifecyclePolicy() == SpinningWheelView.LIFECYCLE_FINISH && spinCurve != null) {
+            stopSpin(spinStartAngle + spinCurve.getAngle(spinCurve.getDuration()));
+        }
+    }
+
+    private void stopSpin(float angle) {
+        spinCurve = null;
+        setModelAngle(angle);
+        controller.setAngle(angle);
+        publishMotion(null, 0);
+
+        controller.dispatchStopRotation();
+    }
+
+    // Called on the main thread when the render thread finished a spin
+    private void onRenderSpinStop(int id, float angle) {
+        if (id != spinId || spinCurve == null) {
+            // a newer spin replaced it
+            return;
+        }
+
+        stopSpin(angle);
+    }
+
+    // endregion
+
+    // region hand-off
+
+    private void postLabels() {
+        if (!labelsPending) {
+            labelsPending = true;
+            mainHandler.post(publishLabels);
+        }
+    }
+
+    private Object createLabel(int index) {
+        WheelModel model = getModel();
+        Object item = model.getItem(index);
+        WheelImage image = item instanceof WheelImageItem ? ((WheelImageItem) item).getImage() : null;
+
+        return image == null ? model.getLabel(index) : new ImageLabel(model.getLabel(index), image);
+    }
+
+    private Items createItems() {
+        WheelModel model = getModel();
+
+        if (model.hasAdapter()) {
+            return new Items(labels, model.getItemWeights(), true);
+        }
+
+        return new Items(model.getItems(), model.getItemWeights(), false);
+    }
+
+    // Immutable copy of the items for the render thread
+    private static final class Items {
+
+        final List items;
+
+        final float[] weights;
+
+        final boolean labels;
+
+        Items(List items, float[] weights, boolean labels) {
+            this.items = items == null ? null : new ArrayList(items);
+            this.weights = weights == null ? null : weights.clone();
+            this.labels = labels;
+        }
+    }
+
+    // Label and image of an adapter item for the render thread
+    private static final class ImageLabel implements WheelImageItem {
+
+        final String label;
+
+        final WheelImage image;
+
+        ImageLabel(String label, WheelImage image) {
+            this.label = label;
+            this.image = image;
+        }
+
+        @Override
+        public WheelImage getImage() {
+            return image;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    // Angle to render, and spin to start from it
+    private static final class Motion {
+
+        final float angle;
+
+        final SpinCurve curve;
+
+        final int spinId;
+
+        // nano time of the spin start, 0 when not measured
+        final long startTime;
+
+        Motion(float angle, SpinCurve curve, int spinId, long startTime) {
+            this.angle = angle;
+            this.curve = curve;
+            this.spinId = spinId;
+            this.startTime = startTime;
+        }
+    }
+
+    // endregion
+
+    // region render thread
+
+    private final class RenderThread extends HandlerThread
+            implements Choreographer.FrameCallback, WheelModel.OnChangeListener, WheelModel.OnTickListener {
+
+        private final SurfaceTexture surfaceTexture;
+
+        // State below is confined to the render thread
+
+        private final WheelRenderer renderer = new WheelRenderer();
+
+        private final WheelModel renderModel = new WheelModel();
+
+        private Surface surface;
+
+        private Choreographer choreographer;
+
+        private boolean frameScheduled;
+
+        private int renderSpinId;
+
+        // items of the render model are the labels of an adapter
+        private boolean labelItems;
+
+        // render model is rotated by the spin, not by a hand-off
+        private boolean spinFrame;
+
+        private final long frameInterval;
+
+        // frame time of the previous spin frame, -1 on the first frame
+        private long lastFrameTime = -1;
+
+        // start time of the spin which has not been drawn yet, 0 if none
+        private long spinStartTime;
+
+        // Written by the main thread
+
+        private volatile int width;
+
+        private volatile int height;
+
+        private final AtomicBoolean frameRequested = new AtomicBoolean();
+
+        // no frame is scheduled while the view is hidden
+        private volatile boolean paused;
+
+        private Handler handler;
+
+        private final Runnable requestFrameRunnable = new Runnable() {
+            @Override
+            public void run() {
+                frameRequested.set(false);
+                scheduleFrame();
+            }
+        };
+
+        RenderThread(SurfaceTexture surfaceTexture, int width, int height, long frameInterval) {
+            super("SpinningWheelRender", android.os.Process.THREAD_PRIORITY_DISPLAY);
+            this.surfaceTexture = surfaceTexture;
+            this.width = width;
+            this.height = height;
+            this.frameInterval = frameInterval;
+
+            renderer.setImageCallback(new Runnable() {
+                @Override
+                public void run() {
+                    requestFrame();
+                }
+            });
+        }
+
+        // main thread
+
+        void startRendering() {
+            start();
+            handler = new Handler(getLooper());
+        }
+
+        void stopRendering() {
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    choreographer.removeFrameCallback(RenderThread.this);
+                    renderModel.removeOnChangeListener(RenderThread.this);
+                    renderModel.removeOnTickListener(RenderThread.this);
+                    renderer.release();
+                    surface.release();
+                    Looper.myLooper().quit();
+                }
+            });
+
+            try {
+                join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void setSize(int width, int height) {
+            this.width = width;
+            this.height = height;
+            requestFrame();
+        }
+
+        void setPaused(boolean paused) {
+            if (this.paused == paused) {
+                return;
+            }
+
+            this.paused = paused;
+
+            if (!paused) {
+                requestFrame();
+            }
+        }
+
+        // any thread, one message at most for several requests
+        void requestFrame() {
+            if (frameRequested.compareAndSet(false, true)) {
+                handler.post(requestFrameRunnable);
+            }
+        }
+
+        // render thread
+
+        @Override
+        protected void onLooperPrepared() {
+            surface = new Surface(surfaceTexture);
+            choreographer = Choreographer.getInstance();
+            renderModel.addOnChangeListener(this);
+            renderModel.addOnTickListener(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            frameScheduled = false;
+
+            TraceCompat.beginSection(TRACE_FRAME);
+
+            try {
+                renderFrame(frameTimeNanos);
+            } finally {
+                TraceCompat.endSection();
+            }
+        }
+
+        @Override
+        public void onRotate(WheelModel model, float angle) {
+            controller.setAngle(model.getAngle());
+        }
+
+        @Override
+        public void onItemsChanged(WheelModel model) {
+            // adapter labels are immutable, the same instance is the same label
+            if (labelItems) {
+                renderer.invalidateWedges();
+            }
+            else {
+                renderer.invalidate();
+            }
+        }
+
+        // render model has no adapter, items always come as a whole list
+
+        @Override
+        public void onItemRangeChanged(WheelModel model, int positionStart, int itemCount) {
+            renderer.invalidate();
+        }
+
+        @Override
+        public void onItemRangeInserted(WheelModel model, int positionStart, int itemCount) {
+            renderer.invalidate();
+        }
+
+        @Override
+        public void onItemRangeRemoved(WheelModel model, int positionStart, int itemCount) {
+            renderer.invalidate();
+        }
+
+        @Override
+        public void onTick(WheelModel model, int crossings) {
+            // played right away, before the frame is drawn
+            if (spinFrame) {
+                controller.getTickFeedback().onTick(model, crossings);
+            }
+
+            if (controller.getOnSelectionChangeListener() != null) {
+                renderSelection.set(model.getSelectedIndex());
+
+                // one message for the crossings until the main thread reads it
+                if (selectionPosted.compareAndSet(false, true)) {
+                    mainHandler.post(dispatchSelection);
+                }
+            }
+        }
+
+        @Override
+        public void onSpinStop(WheelModel model) {
+            final int id = renderSpinId;
+            final float angle = model.getAngle();
+
+            mainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    onRenderSpinStop(id, angle);
+                }
+            });
+        }
+
+        private void renderFrame(long frameTimeNanos) {
+            WheelMetricsListener metricsListener = controller.getMetricsListener();
+
+            applyPending();
+
+            if (metricsListener != null && lastFrameTime >= 0) {
+                long interval = frameTimeNanos - lastFrameTime;
+                metricsListener.onSpinFrame(interval, SpinEngine.getMissedFrames(interval, frameInterval));
+            }
+
+            spinFrame = true;
+            boolean spinning = renderModel.update(frameTimeNanos);
+            spinFrame = false;
+            lastFrameTime = spinning ? frameTimeNanos : -1;
+
+            long start = metricsListener != null ? System.nanoTime() : 0;
+
+            draw();
+
+            if (metricsListener != null) {
+                long end = System.nanoTime();
+                metricsListener.onDraw(end - start);
+
+                if (spinStartTime != 0) {
+                    metricsListener.onSpinStart(end - spinStartTime);
+                    spinStartTime = 0;
+                }
+            }
+
+            if (spinning) {
+                scheduleFrame();
+            }
+        }
+
+        private void scheduleFrame() {
+            if (frameScheduled || paused) {
+                return;
+            }
+
+            frameScheduled = true;
+            choreographer.postFrameCallback(this);
+        }
+
+        private void applyPending() {
+            WheelStyle style = pendingStyle.getAndSet(null);
+            if (style != null) {
+                renderer.setStyle(style);
+            }
+
+            Items items = pendingItems.getAndSet(null);
+            if (items != null) {
+                labelItems = items.labels;
+                renderModel.setItems(items.items, items.weights);
+            }
+
+            Motion motion = pendingMotion.getAndSet(null);
+            if (motion != null) {
+                renderModel.cancelSpin();
+                renderModel.rotate(motion.angle - renderModel.getAngle());
+                lastFrameTime = -1;
+
+                if (motion.curve != null) {
+                    renderSpinId = motion.spinId;
+                    spinStartTime = motion.startTime;
+                    renderModel.spin(motion.curve);
+                }
+            }
+
+            renderer.setSize(width, height);
+        }
+
+        private void draw() {
+            if (!surface.isValid()) {
+                return;
+            }
+
+            Canvas canvas;
+
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                canvas = surface.lockHardwareCanvas();
+            }
+            else {
+                canvas = surface.lockCanvas(null);
+            }
+
+            try {
+                canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+                renderer.draw(canvas, renderModel);
+            } finally {
+                surface.unlockCanvasAndPost(canvas);
+            }
+        }
+    }
+
+    // endregion
+}
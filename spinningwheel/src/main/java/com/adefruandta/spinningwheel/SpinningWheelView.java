@@ -1,103 +1,113 @@
 package com.adefruandta.spinningwheel;
 
+import android.animation.TimeInterpolator;
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.Paint;
-import android.graphics.Path;
-import android.graphics.Point;
-import android.graphics.RectF;
+import android.graphics.Typeface;
 import android.os.Build;
 import android.support.annotation.ArrayRes;
-import android.support.annotation.ColorInt;
+import android.support.annotation.RawRes;
 import android.support.annotation.RequiresApi;
-import android.support.v4.content.ContextCompat;
-import android.text.TextPaint;
-import android.text.TextUtils;
+import android.support.v4.os.TraceCompat;
+import android.support.v4.view.ViewCompat;
 import android.util.AttributeSet;
-import android.util.DisplayMetrics;
 import android.view.MotionEvent;
 import android.view.View;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Created by adefruandta on 3/12/17.
  */
 
-public class SpinningWheelView extends View implements WheelRotation.RotationListener {
+public class SpinningWheelView extends View implements WheelModel.OnChangeListener {
 
     // region static attr
 
-    private final static int MIN_COLORS = 3;
+    // Label is drawn from the edge of the wheel
+    public final static int LABEL_MODE_START = WheelLabelCache.MODE_START;
 
-    private final static float ANGLE = 360f;
+    // Label is centered between the edge and the center of the wheel
+    public final static int LABEL_MODE_CENTER = WheelLabelCache.MODE_CENTER;
 
-    private final static int COLORS_RES = R.array.rainbow_dash;
+    // Label is centered and wrapped on several lines, see setLabelMaxLines
+    public final static int LABEL_MODE_MULTI_LINE = WheelLabelCache.MODE_MULTI_LINE;
 
-    private final static float TOUCH_SCALE_FACTOR = (180.0f / 320) / 2;
+    // Drag rotation estimated from the finger movement, default
+    public final static int DRAG_MODE_LINEAR = WheelTouchHelper.DRAG_MODE_LINEAR;
 
-    private final static int TEXT_SIZE = 25;
+    // Wheel follows the angle of the finger around the center, also outside the wheel once the drag started
+    public final static int DRAG_MODE_ANGULAR = WheelTouchHelper.DRAG_MODE_ANGULAR;
 
-    private final static int TEXT_COLOR = Color.BLACK;
+    // Spin is paused while the wheel is hidden and resumed where it would be when shown again
+    public final static int LIFECYCLE_RESUME = 0;
 
-    private final static int ARROW_COLOR = Color.BLACK;
+    // Spin jumps to its end when the wheel is hidden or detached
+    public final static int LIFECYCLE_FINISH = 1;
 
-    private static final int ARROW_SIZE = 50;
+    private final static String TRACE_DRAW = "SpinningWheel:draw";
 
     // endregion
 
     // region attr
 
-    @ColorInt
-    private int wheelStrokeColor;
+    private final WheelRenderer renderer = new WheelRenderer();
 
-    private float wheelStrokeWidth;
+    // style is handed to the renderer once on the next frame
+    private boolean styleDirty;
 
-    private float wheelStrokeRadius;
+    private SpinEngine spinEngine;
 
-    private int wheelTextColor;
-
-    private float wheelTextSize;
-
-    private int wheelArrowColor;
-
-    private float wheelArrowWidth;
-
-    private float wheelArrowHeight;
-
-    private WheelRotation wheelRotation;
-
-    private Circle circle;
-
-    private float angle = 0;
-
-    private float previousX;
-
-    private float previousY;
-
-    private List items;
+    private final WheelController controller = new WheelController(this, this, new WheelController.Host() {
+        @Override
+        public void onStyleChanged() {
+            // any number of changes before the next frame rebuild paints and caches once
+            styleDirty = true;
+            invalidate();
+        }
 
-    private Point[] points;
+        @Override
+        public void rotateModel(float angle) {
+            getModel().rotate(angle);
+        }
 
-    @ColorInt
-    private int[] colors;
+        @Override
+        public void syncAngle() {
+            // the model is the displayed angle
+        }
 
-    private OnRotationListener onRotationListener;
+        @Override
+        public void spin(SpinCurve curve) {
+            rotate(curve);
+        }
 
-    private boolean onRotationListenerTicket;
+        @Override
+        public void fling(SpinCurve curve) {
+            startSpin(curve);
+        }
 
-    private boolean onRotation;
+        @Override
+        public void onTick(WheelModel model, int crossings) {
+            controller.getTickFeedback().onTick(model, crossings);
+            controller.updateSelection(model.getSelectedIndex());
+        }
 
-    private Paint textPaint;
+        @Override
+        public void updateSpinState(boolean active) {
+            SpinningWheelView.this.updateSpinState(active);
+        }
 
-    private Paint strokePaint;
+        @Override
+        public int getSelectedIndex() {
+            return SpinningWheelView.this.getSelectedIndex();
+        }
+    });
 
-    private Paint trianglePaint;
+    private WheelMetricsListener metricsListener;
 
-    private Paint itemPaint;
+    // start time of the spin which has not been drawn yet, 0 if none
+    private long spinStartTime;
 
     // endregion
 
@@ -105,22 +115,26 @@ public class SpinningWheelView extends View implements WheelRotation.RotationLis
 
     public SpinningWheelView(Context context) {
         super(context);
+        init();
     }
 
     public SpinningWheelView(Context context, AttributeSet attrs) {
         super(context, attrs);
-        initAttrs(attrs);
+        init();
+        controller.loadAttrs(attrs);
     }
 
     public SpinningWheelView(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
-        initAttrs(attrs);
+        init();
+        controller.loadAttrs(attrs);
     }
 
     @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
     public SpinningWheelView(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
         super(context, attrs, defStyleAttr, defStyleRes);
-        initAttrs(attrs);
+        init();
+        controller.loadAttrs(attrs);
     }
 
     // endregion
@@ -135,501 +149,696 @@ public class SpinningWheelView extends View implements WheelRotation.RotationLis
     }
 
     @Override
-    protected void onDraw(Canvas canvas) {
-        super.onDraw(canvas);
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
 
-        if (circle == null) {
-            initCircle();
-        }
+        initCircle();
+    }
 
-        if (hasData() && (points == null || points.length != getItemSize())) {
-            initPoints();
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        if (spinEngine != null) {
+            spinEngine.setFrameInterval(controller.getFrameInterval());
         }
 
-        drawCircle(canvas);
+        controller.onAttachedToWindow();
+    }
 
-        drawWheel(canvas);
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
 
-        drawWheelItems(canvas);
+        // before removing the listener, a finished spin still report its stop
+        updateSpinState(false);
 
-        drawTriangle(canvas);
+        controller.onDetachedFromWindow();
+        renderer.release();
     }
 
     @Override
-    public boolean onTouchEvent(MotionEvent event) {
-        if (circle == null || !isEnabled() || onRotation) {
-            return false;
-        }
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
 
-        float x = event.getX();
-        float y = event.getY();
+        updateSpinState(controller.isActive());
+    }
 
-        if (!circle.contains(x, y)) {
-            return false;
-        }
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
 
-        switch (event.getAction()) {
-            case MotionEvent.ACTION_DOWN:
-                onRotationListenerTicket = true;
-                break;
+        updateSpinState(controller.isActive());
+    }
 
-            case MotionEvent.ACTION_MOVE:
-                float dx = x - previousX;
-                float dy = y - previousY;
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
 
-                // reverse direction of rotation above the mid-line
-                if (y > circle.getCy()) {
-                    dx = dx * -1;
-                }
+        TraceCompat.beginSection(TRACE_DRAW);
+        long start = metricsListener != null ? System.nanoTime() : 0;
 
-                // reverse direction of rotation to left of the mid-line
-                if (x < circle.getCx()) {
-                    dy = dy * -1;
-                }
+        try {
+            initCircle();
 
-                rotate((dx + dy) * TOUCH_SCALE_FACTOR);
+            if (styleDirty) {
+                styleDirty = false;
+                renderer.setStyle(controller.getStyle());
+            }
 
-                break;
+            renderer.draw(canvas, getModel());
 
-            case MotionEvent.ACTION_CANCEL:
-            case MotionEvent.ACTION_UP:
-                onRotationListenerTicket = false;
-                break;
+            if (renderer.isAnimating()) {
+                ViewCompat.postInvalidateOnAnimation(this);
+            }
+        } finally {
+            TraceCompat.endSection();
         }
 
-        previousX = x;
-        previousY = y;
+        if (metricsListener != null) {
+            long end = System.nanoTime();
+            metricsListener.onDraw(end - start);
+
+            if (spinStartTime != 0) {
+                metricsListener.onSpinStart(end - spinStartTime);
+                spinStartTime = 0;
+            }
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (!isEnabled()) {
+            return false;
+        }
 
-        return true;
+        return controller.onTouchEvent(event, renderer.getCircle());
     }
 
     // endregion
 
-    // region rotation listener
+    // region model listener
 
     @Override
-    public void onRotate(float angle) {
-        rotate(angle);
+    public void onRotate(WheelModel model, float angle) {
+        invalidate();
+        controller.setAngle(model.getAngle());
+        controller.dispatchRotation(angle);
     }
 
     @Override
-    public void onStop() {
-        onRotation = false;
+    public void onItemsChanged(WheelModel model) {
+        renderer.invalidate();
+        invalidate();
 
-        if (onRotationListener != null) {
-            onRotationListener.onStopRotation(getSelectedItem());
-        }
+        controller.resetSelection(model.getSelectedIndex());
+    }
+
+    @Override
+    public void onItemRangeChanged(WheelModel model, int positionStart, int itemCount) {
+        renderer.onItemRangeChanged(positionStart, itemCount);
+        invalidate();
+    }
+
+    @Override
+    public void onItemRangeInserted(WheelModel model, int positionStart, int itemCount) {
+        renderer.onItemRangeInserted(positionStart, itemCount);
+        invalidate();
+    }
+
+    @Override
+    public void onItemRangeRemoved(WheelModel model, int positionStart, int itemCount) {
+        renderer.onItemRangeRemoved(positionStart, itemCount);
+        invalidate();
+    }
+
+    @Override
+    public void onSpinStop(WheelModel model) {
+        // only the view which started the spin report it
+        controller.dispatchStopRotation();
     }
 
     // endregion
 
     // region Functionality
 
-    // angle mod 360 prevent to big angle, and overflow float
-    // rotate without animation
+    // rotate without animation, callable from any thread
     public void rotate(float angle) {
-        this.angle += angle;
-        this.angle %= ANGLE;
-        invalidate();
-
-        if (onRotationListenerTicket && angle != 0 && onRotationListener != null) {
-            onRotationListener.onRotation();
-            onRotationListenerTicket = false;
-        }
+        controller.rotate(angle);
     }
 
     /**
      * Rotate wheel with animation
+     * Rotation is rendered on every display frame, interval only define the speed curve.
+     * Callable from any thread, the spin starts on the next frame when called off the main thread.
      *
-     * @param maxAngle: Max angle for render rotation
+     * @param maxAngle: Max angle rotated per interval
      * @param duration: time in millis wheel for rotation
-     * @param interval: time to render rotation
+     * @param interval: time unit of max angle
      */
     public void rotate(float maxAngle, long duration, long interval) {
-        if (maxAngle == 0) {
-            return;
-        }
+        controller.rotate(maxAngle, duration, interval);
+    }
+
+    /**
+     * Rotate wheel with animation and stop on the given item
+     * The wheel slow down smoothly and land inside the item wedge, see {@link #setWedgeJitter(float)}
+     * Callable from any thread, the spin starts on the next frame when called off the main thread.
+     *
+     * @param index: position of the item to stop on
+     * @param revolutions: full turns before reaching the item
+     * @param duration: time in millis wheel for rotation
+     */
+    public void spinTo(int index, int revolutions, long duration) {
+        controller.spinTo(index, revolutions, duration);
+    }
+
+    public float getWedgeJitter() {
+        return controller.getWedgeJitter();
+    }
+
+    /**
+     * Randomness of the stop position inside the wedge for {@link #spinTo(int, int, long)}
+     *
+     * @param wedgeJitter: 0 always stop on the wedge center, 1 stop anywhere in the wedge
+     */
+    public void setWedgeJitter(float wedgeJitter) {
+        controller.setWedgeJitter(wedgeJitter);
+    }
+
+    public WheelEasing getEasing() {
+        return controller.getEasing();
+    }
+
+    /**
+     * Slow down profile of {@link #rotate(float, long, long)} and {@link #spinTo(int, int, long)}
+     *
+     * @param easing: e.g. {@link WheelEasing#cubicDecelerate()}, null for the legacy curves
+     */
+    public void setEasing(WheelEasing easing) {
+        controller.setEasing(easing);
+    }
 
-        onRotationListenerTicket = true;
-        onRotation = true;
+    /**
+     * @param interpolator: custom slow down profile, sampled once
+     */
+    public void setEasingInterpolator(TimeInterpolator interpolator) {
+        controller.setEasingInterpolator(interpolator);
+    }
 
-        if (wheelRotation != null) {
-            wheelRotation.cancel();
+    public WheelModel getModel() {
+        return controller.getModel();
+    }
+
+    /**
+     * Render the given model, a model can be shared by several views
+     * Change the model on the main thread while it is rendered, see {@link WheelModel}
+     */
+    public void setModel(WheelModel model) {
+        controller.setModel(model);
+        controller.setAngle(model.getAngle());
+
+        if (spinEngine != null) {
+            spinEngine.setModel(model);
         }
 
-        wheelRotation = WheelRotation
-                .init(duration, interval)
-                .setMaxAngle(maxAngle)
-                .setListener(this);
-        wheelRotation.start();
+        onItemsChanged(model);
+    }
+
+    // Rotate wheel following the curve, on the display frame clock
+    void rotate(SpinCurve curve) {
+        controller.setRotationTicket(true);
+        startSpin(curve);
+    }
+
+    /**
+     * Change several properties at once, e.g. when restyling a wheel:
+     * {@code wheelView.edit().setColors(colors).setWheelTextSize(size).setItems(items).apply()}
+     *
+     * @return editor starting from the current properties
+     */
+    public WheelEditor edit() {
+        return controller.edit();
     }
 
     public int getWheelStrokeColor() {
-        return wheelStrokeColor;
+        return controller.getWheelStrokeColor();
     }
 
     public void setWheelStrokeColor(int wheelStrokeColor) {
-        this.wheelStrokeColor = wheelStrokeColor;
-        invalidate();
+        controller.setWheelStrokeColor(wheelStrokeColor);
     }
 
     public float getWheelStrokeWidth() {
-        return wheelStrokeWidth;
+        return controller.getWheelStrokeWidth();
     }
 
     public void setWheelStrokeWidth(float wheelStrokeWidth) {
-        this.wheelStrokeWidth = wheelStrokeWidth;
-
-        initWheelStrokeRadius();
-
-        invalidate();
+        controller.setWheelStrokeWidth(wheelStrokeWidth);
     }
 
     public float getWheelTextSize() {
-        return wheelTextSize;
+        return controller.getWheelTextSize();
     }
 
     public void setWheelTextSize(float wheelTextSize) {
-        this.wheelTextSize = wheelTextSize;
-        invalidate();
+        controller.setWheelTextSize(wheelTextSize);
+    }
+
+    public Typeface getWheelTypeface() {
+        return controller.getWheelTypeface();
+    }
+
+    public void setWheelTypeface(Typeface wheelTypeface) {
+        controller.setWheelTypeface(wheelTypeface);
+    }
+
+    public int getLabelMode() {
+        return controller.getLabelMode();
+    }
+
+    /**
+     * @param labelMode: {@link #LABEL_MODE_START}, {@link #LABEL_MODE_CENTER} or {@link #LABEL_MODE_MULTI_LINE}
+     */
+    public void setLabelMode(int labelMode) {
+        controller.setLabelMode(labelMode);
+    }
+
+    public int getLabelMaxLines() {
+        return controller.getLabelMaxLines();
+    }
+
+    /**
+     * @param labelMaxLines: max lines of a label in {@link #LABEL_MODE_MULTI_LINE}
+     */
+    public void setLabelMaxLines(int labelMaxLines) {
+        controller.setLabelMaxLines(labelMaxLines);
     }
 
     public int getWheelTextColor() {
-        return wheelTextColor;
+        return controller.getWheelTextColor();
     }
 
     public void setWheelTextColor(int wheelTextColor) {
-        this.wheelTextColor = wheelTextColor;
-        invalidate();
+        controller.setWheelTextColor(wheelTextColor);
     }
 
     public int getWheelArrowColor() {
-        return wheelArrowColor;
+        return controller.getWheelArrowColor();
     }
 
     public void setWheelArrowColor(int wheelArrowColor) {
-        this.wheelArrowColor = wheelArrowColor;
-        invalidate();
+        controller.setWheelArrowColor(wheelArrowColor);
     }
 
     public void setWheelArrowWidth(float wheelArrowWidth) {
-        this.wheelArrowWidth = wheelArrowWidth;
-        invalidate();
+        controller.setWheelArrowWidth(wheelArrowWidth);
     }
 
     public void setWheelArrowHeight(float wheelArrowHeight) {
-        this.wheelArrowHeight = wheelArrowHeight;
-        invalidate();
+        controller.setWheelArrowHeight(wheelArrowHeight);
     }
 
     public int[] getColors() {
-        return colors;
+        return controller.getColors();
     }
 
     public void setColors(int[] colors) {
-        this.colors = colors;
-        invalidate();
+        controller.setColors(colors);
     }
 
     // Set colors with array res
     // Minimal length 3
     public void setColors(@ArrayRes int colorsResId) {
-        if (colorsResId == 0) {
-            // init default colors
-            setColors(COLORS_RES);
-            return;
-        }
-
-        int[] typedArray;
-
-        // if in edit mode
-        if (isInEditMode()) {
-            String[] sTypeArray = getResources().getStringArray(colorsResId);
-            typedArray = new int[sTypeArray.length];
-
-            for (int i = 0; i < sTypeArray.length; i++) {
-                typedArray[i] = Color.parseColor(sTypeArray[i]);
-            }
-        }
-        else {
-            typedArray = getResources().getIntArray(colorsResId);
-        }
-
-        if (typedArray.length < MIN_COLORS) {
-            // init default colors
-            setColors(COLORS_RES);
-            return;
-        }
-
-        int[] colors = new int[typedArray.length];
-
-        for (int i = 0; i < typedArray.length; i++) {
-            colors[i] = typedArray[i];
-        }
-
-        setColors(colors);
+        controller.setColors(colorsResId);
     }
 
     public List getItems() {
-        return items;
+        return controller.getItems();
     }
 
     public void setItems(List items) {
-        this.items = items;
+        setItems(items, null);
+    }
 
-        initPoints();
+    /**
+     * Set items with proportional wedge size
+     *
+     * @param items:   items of the wheel
+     * @param weights: weight of every item, same length as items, null for equal wedges
+     */
+    public void setItems(List items, float[] weights) {
+        controller.setItems(items, weights);
+    }
 
-        invalidate();
+    public float[] getItemWeights() {
+        return controller.getItemWeights();
     }
 
-    public void setItems(@ArrayRes int itemsResId) {
-        if (itemsResId == 0) {
-            return;
-        }
+    /**
+     * @param weights: weight of every item, same length as items, null for equal wedges
+     */
+    public void setItemWeights(float[] weights) {
+        controller.setItemWeights(weights);
+    }
 
-        String[] typedArray = getResources().getStringArray(itemsResId);
-        List items = new ArrayList();
+    public void setItems(@ArrayRes int itemsResId) {
+        controller.setItems(itemsResId);
+    }
 
-        for (int i = 0; i < typedArray.length; i++) {
-            items.add(typedArray[i]);
-        }
+    public WheelAdapter getAdapter() {
+        return controller.getAdapter();
+    }
 
-        setItems(items);
+    /**
+     * Take items from an adapter instead of a list, see {@link WheelModel#setAdapter(WheelAdapter)}
+     * Only the wedges and labels notified by the adapter are rebuilt.
+     *
+     * @param adapter: items of the wheel, null to remove every item
+     */
+    public void setAdapter(WheelAdapter adapter) {
+        controller.setAdapter(adapter);
     }
 
     public OnRotationListener getOnRotationListener() {
-        return onRotationListener;
+        return controller.getOnRotationListener();
     }
 
     public void setOnRotationListener(OnRotationListener onRotationListener) {
-        this.onRotationListener = onRotationListener;
+        controller.setOnRotationListener(onRotationListener);
     }
 
-    public <T> T getSelectedItem() {
-        if (circle == null || points == null) {
-            return null;
-        }
+    public OnSelectionChangeListener getOnSelectionChangeListener() {
+        return controller.getOnSelectionChangeListener();
+    }
 
-        int itemSize = getItemSize();
-        float cx = circle.getCx();
+    /**
+     * Listen to the item under the arrow instead of polling {@link #getSelectedItem()} on every frame
+     * Wedges crossed during one frame are merged into one change.
+     */
+    public void setOnSelectionChangeListener(OnSelectionChangeListener onSelectionChangeListener) {
+        controller.setOnSelectionChangeListener(onSelectionChangeListener);
+    }
 
-        for (int i = 0; i < points.length; i++) {
-            if (points[i].x <= cx && cx <= points[(i + 1) % itemSize].x) { // validate point x
-                return (T) items.get(i);
-            }
-        }
+    public OnAngleChangeListener getOnAngleChangeListener() {
+        return controller.getOnAngleChangeListener();
+    }
 
-        return null;
+    /**
+     * Listen to the angle at most once per interval, the last angle is always delivered
+     *
+     * @param angleChangeInterval: min millis between two calls, 0 for every frame
+     */
+    public void setOnAngleChangeListener(OnAngleChangeListener onAngleChangeListener, long angleChangeInterval) {
+        controller.setOnAngleChangeListener(onAngleChangeListener, angleChangeInterval);
     }
 
-    // endregion
+    public Executor getListenerExecutor() {
+        return controller.getListenerExecutor();
+    }
 
-    // region methods
+    /**
+     * Call the rotation listener on the executor, e.g. a background service driving the wheel
+     *
+     * @param listenerExecutor: null to call the listener on the main thread
+     */
+    public void setListenerExecutor(Executor listenerExecutor) {
+        controller.setListenerExecutor(listenerExecutor);
+    }
 
-    private void initAttrs(AttributeSet attrs) {
-        if (attrs == null) {
-            return;
-        }
+    /**
+     * @return angle of the wheel, callable from any thread
+     */
+    public float getAngle() {
+        return controller.getAngle();
+    }
 
-        TypedArray typedArray = getContext().obtainStyledAttributes(attrs, R.styleable.Wheel, 0, 0);
+    /**
+     * @return true while a spin started by this view runs, callable from any thread
+     */
+    public boolean isSpinning() {
+        return controller.isSpinning();
+    }
 
-        try {
-            // init colors
-            int colorsResId = typedArray.getResourceId(R.styleable.Wheel_wheel_colors, 0);
-            setColors(colorsResId);
+    public boolean isRenderCacheEnabled() {
+        return controller.isRenderCacheEnabled();
+    }
 
-            int wheelStrokeColor = typedArray.getColor(R.styleable.Wheel_wheel_stroke_color,
-                    ContextCompat.getColor(getContext(), android.R.color.transparent));
-            setWheelStrokeColor(wheelStrokeColor);
+    /**
+     * Draw wheel once into an offscreen bitmap and only rotate that bitmap on every frame.
+     * Cache is rebuilt when items, colors, text or size changes.
+     * Recommended for wheel with a lot of items.
+     *
+     * @param renderCacheEnabled: true to enable render cache
+     */
+    public void setRenderCacheEnabled(boolean renderCacheEnabled) {
+        controller.setRenderCacheEnabled(renderCacheEnabled);
+    }
 
-            float wheelStrokeWidth = typedArray.getDimension(R.styleable.Wheel_wheel_stroke_width, 0f);
-            setWheelStrokeWidth(wheelStrokeWidth);
+    public long getWedgeAnimationDuration() {
+        return controller.getWedgeAnimationDuration();
+    }
 
-            int itemsResId = typedArray.getResourceId(R.styleable.Wheel_wheel_items, 0);
-            setItems(itemsResId);
+    /**
+     * Animate wedge sizes when adapter items are inserted, removed or change their weight
+     *
+     * @param wedgeAnimationDuration: millis, 0 to resize at once
+     */
+    public void setWedgeAnimationDuration(long wedgeAnimationDuration) {
+        controller.setWedgeAnimationDuration(wedgeAnimationDuration);
+    }
 
-            float wheelTextSize = typedArray.getDimension(R.styleable.Wheel_wheel_text_size, TEXT_SIZE);
-            setWheelTextSize(wheelTextSize);
+    public WheelImageCache getImageCache() {
+        return controller.getImageCache();
+    }
 
-            int wheelTextColor = typedArray.getColor(R.styleable.Wheel_wheel_text_color, TEXT_COLOR);
-            setWheelTextColor(wheelTextColor);
+    /**
+     * Cache of the images of {@link WheelImageItem} items, {@link WheelImageCache#getDefault()} by default
+     *
+     * @param imageCache: cache shared with other wheels, null to draw no image
+     */
+    public void setImageCache(WheelImageCache imageCache) {
+        controller.setImageCache(imageCache);
+    }
 
-            int wheelArrowColor = typedArray.getColor(R.styleable.Wheel_wheel_arrow_color, ARROW_COLOR);
-            setWheelArrowColor(wheelArrowColor);
+    public boolean isSharedRenderCacheEnabled() {
+        return controller.isSharedRenderCacheEnabled();
+    }
 
-            float wheelArrowWidth = typedArray.getDimension(R.styleable.Wheel_wheel_arrow_width, dpToPx(ARROW_SIZE));
-            setWheelArrowWidth(wheelArrowWidth);
+    /**
+     * Share the render cache bitmap with the wheels drawing the same items with the same style and size,
+     * e.g. rows of a list. Only used with the render cache, and not for wheels with images.
+     *
+     * @param sharedRenderCacheEnabled: true to share the render cache
+     */
+    public void setSharedRenderCacheEnabled(boolean sharedRenderCacheEnabled) {
+        controller.setSharedRenderCacheEnabled(sharedRenderCacheEnabled);
+    }
 
-            float wheelArrowHeight = typedArray.getDimension(R.styleable.Wheel_wheel_arrow_height, dpToPx(ARROW_SIZE));
-            setWheelArrowHeight(wheelArrowHeight);
-        } finally {
-            typedArray.recycle();
-        }
+    public boolean isFlingEnabled() {
+        return controller.isFlingEnabled();
+    }
 
-        init();
+    /**
+     * If true: wheel keep spinning after the finger is lifted and slow down by friction
+     * Rotation listener is called the same as {@link #rotate(float, long, long)}
+     */
+    public void setFlingEnabled(boolean flingEnabled) {
+        controller.setFlingEnabled(flingEnabled);
     }
 
-    private void init() {
-        textPaint = new Paint();
-        textPaint.setStyle(Paint.Style.FILL);
-        textPaint.setColor(wheelTextColor);
-        textPaint.setTextSize(wheelTextSize);
+    public int getDragMode() {
+        return controller.getDragMode();
+    }
 
-        strokePaint = new Paint();
-        strokePaint.setStyle(Paint.Style.STROKE);
-        strokePaint.setColor(wheelStrokeColor);
-        strokePaint.setStrokeWidth(wheelStrokeWidth);
-        strokePaint.setStrokeCap(Paint.Cap.ROUND);
+    /**
+     * @param dragMode: {@link #DRAG_MODE_LINEAR} (default) or {@link #DRAG_MODE_ANGULAR}
+     */
+    public void setDragMode(int dragMode) {
+        controller.setDragMode(dragMode);
+    }
 
-        trianglePaint = new Paint();
-        trianglePaint.setColor(wheelArrowColor);
-        trianglePaint.setStyle(Paint.Style.FILL_AND_STROKE);
-        trianglePaint.setAntiAlias(true);
+    public float getFlingFriction() {
+        return controller.getFlingFriction();
+    }
 
-        itemPaint = new Paint();
-        itemPaint.setStyle(Paint.Style.FILL);
+    /**
+     * @param flingFriction: velocity decay rate per second, higher value stop the fling sooner
+     */
+    public void setFlingFriction(float flingFriction) {
+        controller.setFlingFriction(flingFriction);
     }
 
-    private void initWheelStrokeRadius() {
-        wheelStrokeRadius = wheelStrokeWidth / 2;
-        wheelStrokeRadius = wheelStrokeRadius == 0 ? 1 : wheelStrokeRadius;
+    public int getLifecyclePolicy() {
+        return controller.getLifecyclePolicy();
     }
 
-    private void initCircle() {
-        int width = getMeasuredWidth() == 0 ? getWidth() : getMeasuredWidth();
-        int height = getMeasuredHeight() == 0 ? getHeight() : getMeasuredHeight();
+    /**
+     * Behaviour of a running spin while the wheel is hidden or detached,
+     * no frame is computed in both cases
+     *
+     * @param lifecyclePolicy: {@link #LIFECYCLE_RESUME} or {@link #LIFECYCLE_FINISH}
+     */
+    public void setLifecyclePolicy(int lifecyclePolicy) {
+        controller.setLifecyclePolicy(lifecyclePolicy);
+    }
 
-        circle = new Circle(width, height);
+    public boolean isScalableEnabled() {
+        return controller.isScalableEnabled();
     }
 
-    private void initPoints() {
-        if (this.items != null && !this.items.isEmpty()) {
-            points = new Point[this.items.size()];
-        }
+    /**
+     * Scalable mode for wheel with a lot of items (hundreds or more)
+     * Wedges thinner than {@link #setMinWedgeSize(float)} are merged,
+     * labels are hidden when there is no room to read them,
+     * and only the visible part of the wheel is drawn when zoomed.
+     */
+    public void setScalableEnabled(boolean scalableEnabled) {
+        controller.setScalableEnabled(scalableEnabled);
     }
 
-    private void drawCircle(Canvas canvas) {
-        canvas.drawCircle(circle.getCx(), circle.getCy(), circle.getRadius(), new Paint());
-        drawCircleStroke(canvas);
+    public float getZoom() {
+        return controller.getZoom();
     }
 
-    private void drawCircleStroke(Canvas canvas) {
-        canvas.drawCircle(circle.getCx(), circle.getCy(), circle.getRadius() - wheelStrokeRadius, strokePaint);
+    /**
+     * Magnify the wheel around the arrow, only used in scalable mode
+     * The top of the wheel stays under the arrow, labels keep their size,
+     * so thin wedges become readable. Render cache is not used while zoomed.
+     *
+     * @param zoom: 1 to show the whole wheel
+     */
+    public void setZoom(float zoom) {
+        controller.setZoom(zoom);
     }
 
-    private void drawWheel(Canvas canvas) {
-        if (!hasData()) {
-            return;
-        }
+    public float getMinWedgeSize() {
+        return controller.getMinWedgeSize();
+    }
 
-        // Prepare Point
-        float cx = circle.getCx();
-        float cy = circle.getCy();
-        float radius = circle.getRadius();
-        float endOfRight = cx + radius;
-        float left = cx - radius + (wheelStrokeRadius * 2);
-        float top = cy - radius + (wheelStrokeRadius * 2);
-        float right = cx + radius - (wheelStrokeRadius * 2);
-        float bottom = cy + radius - (wheelStrokeRadius * 2);
+    /**
+     * @param minWedgeSize: smallest wedge size in pixel on the edge of the wheel, used in scalable mode
+     */
+    public void setMinWedgeSize(float minWedgeSize) {
+        controller.setMinWedgeSize(minWedgeSize);
+    }
 
-        // Rotate Wheel
-        canvas.rotate(angle, cx, cy);
+    public int getTickSound() {
+        return controller.getTickSound();
+    }
 
-        // Prepare Pie
-        RectF rectF = new RectF(left, top, right, bottom);
+    /**
+     * Sound played when a wedge boundary passes the arrow, preloaded while the wheel is attached
+     *
+     * @param tickSoundResId: raw res of a short sample, 0 for no sound
+     */
+    public void setTickSound(@RawRes int tickSoundResId) {
+        controller.setTickSound(tickSoundResId);
+    }
 
-        float angle = 0;
-        for (int i = 0; i < getItemSize(); i++) {
-            canvas.save();
-            canvas.rotate(angle, cx, cy);
-            canvas.drawArc(rectF, 0, getAnglePerItem(), true, getItemPaint(i));
-            canvas.restore();
+    public boolean isTickHapticEnabled() {
+        return controller.isTickHapticEnabled();
+    }
 
-            points[i] = circle.rotate(angle + this.angle, endOfRight, cy);
+    /**
+     * Haptic feedback when a wedge boundary passes the arrow
+     */
+    public void setTickHapticEnabled(boolean tickHapticEnabled) {
+        controller.setTickHapticEnabled(tickHapticEnabled);
+    }
 
-            angle += getAnglePerItem();
-        }
+    public WheelMetricsListener getMetricsListener() {
+        return metricsListener;
     }
 
-    private void drawWheelItems(Canvas canvas) {
-        float cx = circle.getCx();
-        float cy = circle.getCy();
-        float radius = circle.getRadius();
-        float x = cx - radius + (wheelStrokeRadius * 5);
-        float y = cy;
-        float textWidth = radius - (wheelStrokeRadius * 10);
-        TextPaint textPaint = new TextPaint();
-        textPaint.set(this.textPaint);
+    /**
+     * Measure draw and touch time, spin start latency and missed frames, see {@link WheelMetrics}
+     *
+     * @param metricsListener: null to stop measuring
+     */
+    public void setMetricsListener(WheelMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+        controller.setMetricsListener(metricsListener);
+        spinStartTime = 0;
 
-        float angle = getAnglePerItem() / 2;
+        if (spinEngine != null) {
+            spinEngine.setMetricsListener(metricsListener);
+        }
+    }
 
-        for (int i = 0; i < getItemSize(); i++) {
-            CharSequence item = TextUtils
-                    .ellipsize(items.get(i).toString(), textPaint, textWidth, TextUtils.TruncateAt.END);
-            canvas.save();
-            canvas.rotate(angle + 180, cx, cy); // +180 for start from right
-            canvas.drawText(item.toString(), x, y, this.textPaint);
-            canvas.restore();
+    public <T> T getSelectedItem() {
+        return controller.getSelectedItem();
+    }
 
-            angle += getAnglePerItem();
-        }
+    /**
+     * Index of item under the arrow, computed from current angle
+     * Valid before the first draw and when the view is off-screen
+     *
+     * @return selected index, -1 if wheel has no item
+     */
+    public int getSelectedIndex() {
+        return getModel().getSelectedIndex();
     }
 
-    private void drawTriangle(Canvas canvas) {
-        // Prepare Point
-        float cx = circle.getCx();
-        float cy = circle.getCy();
-        float radius = circle.getRadius();
+    // endregion
 
-        // Handle triangle not following the rotation
-        canvas.rotate(-angle, cx, cy);
+    // region methods
 
-        drawTriangle(canvas, trianglePaint, cx, cy - radius, wheelArrowWidth, wheelArrowHeight);
+    private void init() {
+        renderer.setImageCallback(new Runnable() {
+            @Override
+            public void run() {
+                postInvalidate();
+            }
+        });
+        setModel(new WheelModel());
     }
 
-    private void drawTriangle(Canvas canvas, Paint paint, float x, float y, float width, float height) {
-        float halfWidth = width / 2;
-        float halfHeight = height / 2;
-
-        Path path = new Path();
-        path.moveTo(x - halfWidth, y - halfHeight); // Top left
-        path.lineTo(x + halfWidth, y - halfHeight); // Top right
-        path.lineTo(x, y + halfHeight); // Bottom Center
-        path.lineTo(x - halfWidth, y - halfHeight); // Back to top left
-        path.close();
+    private void initCircle() {
+        int width = getMeasuredWidth() == 0 ? getWidth() : getMeasuredWidth();
+        int height = getMeasuredHeight() == 0 ? getHeight() : getMeasuredHeight();
 
-        canvas.drawPath(path, paint);
+        renderer.setSize(width, height);
     }
 
-    private Paint getItemPaint(int position) {
-        int i = position % colors.length;
+    private void startSpin(SpinCurve curve) {
+        controller.setSpinning(true);
 
-        // if start color == end color, get middle color
-        if (getItemSize() - 1 == position && position % colors.length == 0) {
-            i = colors.length / 2;
+        if (metricsListener != null) {
+            spinStartTime = System.nanoTime();
         }
 
-        itemPaint.setColor(colors[i]);
-
-        return itemPaint;
+        getModel().spin(curve);
+        getSpinEngine();
+        updateSpinState(controller.isActive());
     }
 
-    private int getItemSize() {
-        return items == null ? 0 : items.size();
-    }
+    // Run the spin engine only while the wheel is on screen, the spin time keeps running on the frame clock
+    private void updateSpinState(boolean active) {
+        if (spinEngine == null || !controller.isSpinning() || !getModel().isSpinning()) {
+            return;
+        }
 
-    private float getAnglePerItem() {
-        return ANGLE / (float) getItemSize();
-    }
+        if (active) {
+            spinEngine.start();
+        }
+        else {
+            spinEngine.cancel();
 
-    private boolean hasData() {
-        return items != null && !items.isEmpty();
+            if (controller.getLifecyclePolicy() == LIFECYCLE_FINISH) {
+                getModel().finishSpin();
+            }
+        }
     }
 
-    private int dpToPx(int dp) {
-        DisplayMetrics displayMetrics = getContext().getResources().getDisplayMetrics();
-        int px = Math.round(dp * (displayMetrics.xdpi / DisplayMetrics.DENSITY_DEFAULT));
-        return px;
+    private SpinEngine getSpinEngine() {
+        if (spinEngine == null) {
+            spinEngine = new SpinEngine(getModel());
+            spinEngine.setMetricsListener(metricsListener);
+            spinEngine.setFrameInterval(controller.getFrameInterval());
+        }
+
+        return spinEngine;
     }
 
     // endregion
@@ -643,5 +852,20 @@ public class SpinningWheelView extends View implements WheelRotation.RotationLis
         void onStopRotation(T item);
     }
 
+    public interface OnSelectionChangeListener {
+
+        /**
+         * The arrow entered another wedge, at most once per frame
+         *
+         * @param oldIndex: index reported by the previous call, -1 if none
+         */
+        void onSelectionChanged(int oldIndex, int newIndex);
+    }
+
+    public interface OnAngleChangeListener {
+
+        void onAngleChanged(float angle);
+    }
+
     // endregion
 }
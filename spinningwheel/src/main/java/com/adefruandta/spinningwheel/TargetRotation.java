@@ -0,0 +1,70 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Rotation curve that travels exactly a given distance.
+ * Use the same timing model as {@link WheelRotation}: speed up at the start, keep the speed,
+ * then slow down during the last {@link WheelRotation#SLOW_FACTOR} of the duration.
+ * The slow down has a constant deceleration, so the wheel stops smoothly like by friction.
+ */
+class TargetRotation implements SpinCurve {
+
+    private final static float RAMP_FACTOR = 0.1f;
+
+    private float distance;
+
+    private long duration;
+
+    private float rampEnd;
+
+    private float slowStart;
+
+    private float slowDuration;
+
+    // cruise speed, in degree per millis
+    private float velocity;
+
+    /**
+     * @param distance: total angle to travel
+     * @param duration: time in millis until the rotation stop
+     */
+    public TargetRotation(float distance, long duration) {
+        this.distance = distance;
+        this.duration = duration;
+        rampEnd = duration * RAMP_FACTOR;
+        slowStart = duration - duration * WheelRotation.SLOW_FACTOR;
+        slowDuration = duration - slowStart;
+
+        // distance = velocity * (ramp / 2 + cruise + slow / 2)
+        float time = rampEnd / 2f + (slowStart - rampEnd) + slowDuration / 2f;
+        velocity = time <= 0 ? 0 : distance / time;
+    }
+
+    @Override
+    public long getDuration() {
+        return duration;
+    }
+
+    @Override
+    public float getAngle(float elapsed) {
+        float t = Math.max(0, elapsed);
+
+        // land exactly on the distance, whatever the float rounding
+        if (t >= duration) {
+            return distance;
+        }
+
+        if (t <= rampEnd) {
+            return velocity * t * t / (2f * rampEnd);
+        }
+
+        float rampAngle = velocity * rampEnd / 2f;
+
+        if (t <= slowStart) {
+            return rampAngle + velocity * (t - rampEnd);
+        }
+
+        float slowTime = t - slowStart;
+        float slowAngle = velocity * (slowTime - slowTime * slowTime / (2f * slowDuration));
+        return rampAngle + velocity * (slowStart - rampEnd) + slowAngle;
+    }
+}
@@ -0,0 +1,66 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Fixed size histogram of durations, recording does not allocate.
+ * Linear buckets of 0.1 ms up to 100 ms, longer durations fall in the last bucket.
+ */
+class TimeHistogram {
+
+    private final static long BUCKET_NANOS = 100000;
+
+    private final static int BUCKET_COUNT = 1000;
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+
+    private long count;
+
+    private long max;
+
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+
+        buckets[(int) Math.min(BUCKET_COUNT - 1, nanos / BUCKET_NANOS)]++;
+        count++;
+        max = Math.max(max, nanos);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile: between 0 and 100, e.g. 50 for the median
+     * @return upper bound in nanos of the bucket containing the percentile, 0 when empty
+     */
+    public long getPercentile(float percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(percentile, 100) / 100.0));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+            seen += buckets[i];
+
+            if (seen >= rank) {
+                return Math.min((i + 1) * BUCKET_NANOS, max);
+            }
+        }
+
+        return max;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = 0;
+        }
+
+        count = 0;
+        max = 0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.adefruandta.spinningwheel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Typed source of wheel items, an alternative to {@link SpinningWheelView#setItems(List)}.
+ * Notify the exact change, e.g. {@link #notifyItemInserted(int)}, so only the affected
+ * wedges and labels are recomputed. See {@link ListWheelAdapter} to compute the change with a diff.
+ */
+public abstract class WheelAdapter<T> {
+
+    private final List<Observer> observers = new ArrayList<>();
+
+    public abstract int getCount();
+
+    public abstract T getItem(int position);
+
+    /**
+     * @return text drawn on the wedge, item toString by default
+     */
+    public String getLabel(int position) {
+        return String.valueOf(getItem(position));
+    }
+
+    /**
+     * @return relative size of the wedge, 1 by default for equal wedges
+     */
+    public float getWeight(int position) {
+        return 1;
+    }
+
+    // region notify
+
+    // Every item may have changed, everything is rebuilt
+    public final void notifyDataSetChanged() {
+        for (int i = observers.size() - 1; i >= 0; i--) {
+            observers.get(i).onChanged();
+        }
+    }
+
+    public final void notifyItemChanged(int position) {
+        notifyItemRangeChanged(position, 1);
+    }
+
+    public final void notifyItemRangeChanged(int positionStart, int itemCount) {
+        for (int i = observers.size() - 1; i >= 0; i--) {
+            observers.get(i).onItemRangeChanged(positionStart, itemCount);
+        }
+    }
+
+    public final void notifyItemInserted(int position) {
+        notifyItemRangeInserted(position, 1);
+    }
+
+    public final void notifyItemRangeInserted(int positionStart, int itemCount) {
+        for (int i = observers.size() - 1; i >= 0; i--) {
+            observers.get(i).onItemRangeInserted(positionStart, itemCount);
+        }
+    }
+
+    public final void notifyItemRemoved(int position) {
+        notifyItemRangeRemoved(position, 1);
+    }
+
+    public final void notifyItemRangeRemoved(int positionStart, int itemCount) {
+        for (int i = observers.size() - 1; i >= 0; i--) {
+            observers.get(i).onItemRangeRemoved(positionStart, itemCount);
+        }
+    }
+
+    // endregion
+
+    void registerObserver(Observer observer) {
+        if (!observers.contains(observer)) {
+            observers.add(observer);
+        }
+    }
+
+    void unregisterObserver(Observer observer) {
+        observers.remove(observer);
+    }
+
+    interface Observer {
+
+        void onChanged();
+
+        void onItemRangeChanged(int positionStart, int itemCount);
+
+        void onItemRangeInserted(int positionStart, int itemCount);
+
+        void onItemRangeRemoved(int positionStart, int itemCount);
+    }
+}
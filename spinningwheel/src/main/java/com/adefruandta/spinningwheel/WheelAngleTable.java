@@ -0,0 +1,135 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Cumulative start angle of every item, computed once when items or weights change.
+ * Equal items resolve an angle in constant time, weighted items with a binary search.
+ */
+class WheelAngleTable {
+
+    private final static float ANGLE = 360f;
+
+    // angles[i] is the start angle of item i, angles[size] is 360
+    private float[] angles = new float[1];
+
+    private int size;
+
+    private boolean weighted;
+
+    /**
+     * @param size:    item count
+     * @param weights: weight of every item, null for equal items
+     */
+    public void set(int size, float[] weights) {
+        if (weights != null && weights.length != size) {
+            throw new IllegalArgumentException("Weights length " + weights.length + " must be equal to items size " + size);
+        }
+
+        this.size = size;
+
+        if (angles.length != size + 1) {
+            angles = new float[size + 1];
+        }
+
+        float total = 0;
+
+        if (weights != null) {
+            for (int i = 0; i < size; i++) {
+                if (weights[i] < 0) {
+                    throw new IllegalArgumentException("Weight must not be negative, weight at " + i + " is " + weights[i]);
+                }
+
+                total += weights[i];
+            }
+        }
+
+        weighted = total > 0;
+
+        float angle = 0;
+        for (int i = 0; i < size; i++) {
+            angles[i] = angle;
+            angle += weighted ? ANGLE * weights[i] / total : ANGLE / size;
+        }
+
+        angles[size] = ANGLE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    public float getStart(int index) {
+        return angles[index];
+    }
+
+    public float getSweep(int index) {
+        return angles[index + 1] - angles[index];
+    }
+
+    /**
+     * @param angle: angle relative to the start of first item, between 0 and 360
+     * @return index of the item containing the angle, -1 if empty
+     */
+    public int indexOf(float angle) {
+        if (size == 0) {
+            return -1;
+        }
+
+        int index;
+
+        if (!weighted) {
+            index = (int) (angle / (ANGLE / size));
+        }
+        else {
+            // last start angle <= angle
+            int low = 0;
+            int high = size - 1;
+
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+
+                if (angles[mid] <= angle) {
+                    low = mid;
+                }
+                else {
+                    high = mid - 1;
+                }
+            }
+
+            // empty wedges share the start angle of the next item, so they are never selected
+            index = low;
+        }
+
+        // handle float rounding on the last edge
+        return Math.max(0, Math.min(index, size - 1));
+    }
+
+    /**
+     * @param from: angle relative to the start of first item, any value
+     * @param to:   angle relative to the start of first item, any value
+     * @return item start angles passed when moving from an angle to the other, in any direction
+     */
+    public int countBoundaries(float from, float to) {
+        if (size == 0) {
+            return 0;
+        }
+
+        return Math.abs(countBoundaries(to) - countBoundaries(from));
+    }
+
+    // Start angles lower or equal than the angle, counted from 0 over every turn
+    private int countBoundaries(float angle) {
+        int turns = (int) Math.floor(angle / ANGLE);
+        float rest = angle - turns * ANGLE;
+
+        if (rest >= ANGLE) {
+            turns++;
+            rest -= ANGLE;
+        }
+
+        return turns * size + indexOf(rest) + 1;
+    }
+}
@@ -0,0 +1,86 @@
+package com.adefruandta.spinningwheel;
+
+import android.graphics.Bitmap;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bitmaps evicted from {@link WheelImageCache} which are no more drawn, reused for the next images
+ * of the same size instead of allocating new ones. Bounded in bytes, the oldest size is dropped first.
+ * Not synchronized, guarded by the cache.
+ */
+class WheelBitmapPool {
+
+    private final int maxSize;
+
+    private int size;
+
+    // key is width << 16 | height, only ARGB_8888 bitmaps are pooled
+    private final Map<Integer, ArrayDeque<Bitmap>> bitmaps = new HashMap<>();
+
+    // sizes in put order, to drop the oldest first
+    private final ArrayDeque<Integer> order = new ArrayDeque<>();
+
+    /**
+     * @param maxSize: max bytes of the pooled bitmaps
+     */
+    public WheelBitmapPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return a mutable bitmap of the size with undefined content, null if none
+     */
+    public Bitmap get(int width, int height) {
+        ArrayDeque<Bitmap> deque = bitmaps.get(key(width, height));
+        Bitmap bitmap = deque == null ? null : deque.poll();
+
+        if (bitmap != null) {
+            size -= bitmap.getByteCount();
+            order.removeFirstOccurrence(key(width, height));
+        }
+
+        return bitmap;
+    }
+
+    public void put(Bitmap bitmap) {
+        if (bitmap.isRecycled() || !bitmap.isMutable() || bitmap.getConfig() != Bitmap.Config.ARGB_8888
+                || bitmap.getByteCount() > maxSize) {
+            return;
+        }
+
+        Integer key = key(bitmap.getWidth(), bitmap.getHeight());
+        ArrayDeque<Bitmap> deque = bitmaps.get(key);
+
+        if (deque == null) {
+            deque = new ArrayDeque<>();
+            bitmaps.put(key, deque);
+        }
+
+        deque.add(bitmap);
+        order.add(key);
+        size += bitmap.getByteCount();
+
+        trimToSize(maxSize);
+    }
+
+    public void trimToSize(int maxSize) {
+        while (size > maxSize && !order.isEmpty()) {
+            Bitmap bitmap = bitmaps.get(order.poll()).poll();
+            size -= bitmap.getByteCount();
+
+            // not drawn by anyone once pooled
+            bitmap.recycle();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static Integer key(int width, int height) {
+        return width << 16 | height;
+    }
+}
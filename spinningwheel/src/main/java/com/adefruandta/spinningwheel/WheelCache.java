@@ -0,0 +1,82 @@
+package com.adefruandta.spinningwheel;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+/**
+ * Holds a pre-rendered, un-rotated image of the wheel (background, wedges, stroke and labels).
+ * The image is rebuilt only after {@link #invalidate()} or when the size changes, every other
+ * frame is a single rotated blit.
+ */
+class WheelCache {
+
+    private Bitmap bitmap;
+
+    private Canvas canvas;
+
+    private Paint paint;
+
+    private boolean dirty = true;
+
+    public WheelCache() {
+        canvas = new Canvas();
+        paint = new Paint(Paint.FILTER_BITMAP_FLAG | Paint.ANTI_ALIAS_FLAG);
+    }
+
+    public boolean isValid(int width, int height) {
+        return !dirty && bitmap != null && bitmap.getWidth() == width && bitmap.getHeight() == height;
+    }
+
+    /**
+     * Prepare bitmap for recording, reuse the previous bitmap when the size did not change
+     *
+     * @return canvas to draw the wheel on, null when size is empty
+     */
+    public Canvas begin(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+
+        if (bitmap == null || bitmap.getWidth() != width || bitmap.getHeight() != height) {
+            release();
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            canvas.setBitmap(bitmap);
+        }
+        else {
+            bitmap.eraseColor(Color.TRANSPARENT);
+        }
+
+        return canvas;
+    }
+
+    public void end() {
+        dirty = false;
+    }
+
+    public void invalidate() {
+        dirty = true;
+    }
+
+    public void draw(Canvas canvas, float angle, float cx, float cy) {
+        if (bitmap == null) {
+            return;
+        }
+
+        canvas.save();
+        canvas.rotate(angle, cx, cy);
+        canvas.drawBitmap(bitmap, 0, 0, paint);
+        canvas.restore();
+    }
+
+    public void release() {
+        if (bitmap != null) {
+            canvas.setBitmap(null);
+            bitmap.recycle();
+            bitmap = null;
+        }
+
+        dirty = true;
+    }
+}
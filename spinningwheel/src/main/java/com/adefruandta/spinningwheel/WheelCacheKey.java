@@ -0,0 +1,120 @@
+package com.adefruandta.spinningwheel;
+
+import android.graphics.Typeface;
+
+import java.util.Arrays;
+
+/**
+ * Everything drawn into a render cache: layer style, size, labels and wedge angles.
+ * Two wheels with equal keys draw the same bitmap, see {@link WheelResources}.
+ * Immutable, built only when a render cache is rebuilt.
+ */
+final class WheelCacheKey {
+
+    private final int[] colors;
+
+    private final int strokeColor;
+
+    private final float strokeWidth;
+
+    private final int textColor;
+
+    private final float textSize;
+
+    private final Typeface typeface;
+
+    private final int labelMode;
+
+    private final int labelMaxLines;
+
+    private final boolean scalableEnabled;
+
+    private final float minWedgeSize;
+
+    private final int width;
+
+    private final int height;
+
+    private final String[] labels;
+
+    // start angle of every item, and 360
+    private final float[] angles;
+
+    private final int hashCode;
+
+    WheelCacheKey(WheelStyle style, int width, int height, WheelModel model, WheelAngleTable table) {
+        colors = style.getColors() == null ? null : style.getColors().clone();
+        strokeColor = style.getStrokeColor();
+        strokeWidth = style.getStrokeWidth();
+        textColor = style.getTextColor();
+        textSize = style.getTextSize();
+        typeface = style.getTypeface();
+        labelMode = style.getLabelMode();
+        labelMaxLines = style.getLabelMaxLines();
+        scalableEnabled = style.isScalableEnabled();
+        minWedgeSize = style.getMinWedgeSize();
+        this.width = width;
+        this.height = height;
+
+        int size = table.size();
+        labels = new String[size];
+        angles = new float[size + 1];
+
+        for (int i = 0; i < size; i++) {
+            labels[i] = model.getLabel(i);
+            angles[i] = table.getStart(i);
+        }
+
+        angles[size] = WheelModel.ANGLE;
+
+        int hash = Arrays.hashCode(colors);
+        hash = 31 * hash + strokeColor;
+        hash = 31 * hash + Float.floatToIntBits(strokeWidth);
+        hash = 31 * hash + textColor;
+        hash = 31 * hash + Float.floatToIntBits(textSize);
+        hash = 31 * hash + (typeface == null ? 0 : typeface.hashCode());
+        hash = 31 * hash + labelMode;
+        hash = 31 * hash + labelMaxLines;
+        hash = 31 * hash + (scalableEnabled ? 1 : 0);
+        hash = 31 * hash + Float.floatToIntBits(minWedgeSize);
+        hash = 31 * hash + width;
+        hash = 31 * hash + height;
+        hash = 31 * hash + Arrays.hashCode(labels);
+        hash = 31 * hash + Arrays.hashCode(angles);
+        hashCode = hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof WheelCacheKey)) {
+            return false;
+        }
+
+        WheelCacheKey key = (WheelCacheKey) o;
+
+        return hashCode == key.hashCode
+                && strokeColor == key.strokeColor
+                && strokeWidth == key.strokeWidth
+                && textColor == key.textColor
+                && textSize == key.textSize
+                && (typeface == null ? key.typeface == null : typeface.equals(key.typeface))
+                && labelMode == key.labelMode
+                && labelMaxLines == key.labelMaxLines
+                && scalableEnabled == key.scalableEnabled
+                && minWedgeSize == key.minWedgeSize
+                && width == key.width
+                && height == key.height
+                && Arrays.equals(colors, key.colors)
+                && Arrays.equals(angles, key.angles)
+                && Arrays.equals(labels, key.labels);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
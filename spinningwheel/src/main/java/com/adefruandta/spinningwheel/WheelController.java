@@ -0,0 +1,803 @@
+package com.adefruandta.spinningwheel;
+
+import android.animation.TimeInterpolator;
+import android.content.res.TypedArray;
+import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.annotation.ArrayRes;
+import android.support.annotation.RawRes;
+import android.support.v4.os.TraceCompat;
+import android.support.v4.view.ViewCompat;
+import android.util.AttributeSet;
+import android.view.Display;
+import android.view.MotionEvent;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Attributes, properties, listeners and thread hops shared by {@link SpinningWheelView}
+ * and {@link SpinningWheelTextureView}. Both views forward their public API here,
+ * and only keep drawing and threading, see {@link Host}.
+ * Main thread, unless noted.
+ */
+class WheelController {
+
+    private final static String TRACE_TOUCH = "SpinningWheel:touch";
+
+    // What differs between the views
+    interface Host {
+
+        // style changed, hand it to the renderer once on the next frame
+        void onStyleChanged();
+
+        // rotate the model without animation
+        void rotateModel(float angle);
+
+        // bring the model to the displayed angle before a spin is computed from it
+        void syncAngle();
+
+        // rotate following the curve, the rotation listener is notified
+        void spin(SpinCurve curve);
+
+        // keep spinning after a drag, the rotation listener was notified by the drag
+        void fling(SpinCurve curve);
+
+        // wedge boundaries passed the arrow during a rotation of the model
+        void onTick(WheelModel model, int crossings);
+
+        // run or pause the spin on screen changes
+        void updateSpinState(boolean active);
+
+        // item under the displayed arrow, may differ from the model while the texture view spins
+        int getSelectedIndex();
+    }
+
+    private final View view;
+
+    // model listener of the view, hopped to the main thread
+    private final WheelModel.OnChangeListener modelListener;
+
+    private final Host host;
+
+    private final WheelStyle style = new WheelStyle();
+
+    private WheelModel model;
+
+    private final WheelEditor.Target editorTarget = new WheelEditor.Target() {
+        @Override
+        public void apply(WheelStyle edited, boolean itemsChanged, List items, float[] weights) {
+            style.set(edited);
+            host.onStyleChanged();
+
+            if (itemsChanged) {
+                setItems(items, weights);
+            }
+        }
+    };
+
+    private final WheelDispatcher dispatcher;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final WheelTouchHelper touchHelper = new WheelTouchHelper(new WheelTouchHelper.Callback() {
+        @Override
+        public void onTouchStart() {
+            onRotationListenerTicket = true;
+        }
+
+        @Override
+        public void onDrag(float angle) {
+            rotate(angle);
+        }
+
+        @Override
+        public void onTouchEnd() {
+            onRotationListenerTicket = false;
+        }
+
+        @Override
+        public void onFling(SpinCurve rotation) {
+            // onRotation already called by the drag
+            host.fling(rotation);
+        }
+    });
+
+    private SpinningWheelView.OnRotationListener onRotationListener;
+
+    private boolean onRotationListenerTicket;
+
+    // a spin started by the view runs, read from any thread
+    private volatile boolean onRotation;
+
+    // displayed angle, float bits, written by any thread
+    private final AtomicInteger angle = new AtomicInteger();
+
+    // read by the render thread of the texture view
+    private volatile SpinningWheelView.OnSelectionChangeListener onSelectionChangeListener;
+
+    // last index reported to the selection listener
+    private int selectedIndex = -1;
+
+    private volatile SpinningWheelView.OnAngleChangeListener onAngleChangeListener;
+
+    private volatile long angleChangeInterval;
+
+    private volatile long lastAngleChangeTime;
+
+    // an angle change is scheduled
+    private final AtomicBoolean anglePending = new AtomicBoolean();
+
+    private final Runnable dispatchAngle = new Runnable() {
+        @Override
+        public void run() {
+            lastAngleChangeTime = SystemClock.uptimeMillis();
+            anglePending.set(false);
+
+            SpinningWheelView.OnAngleChangeListener listener = onAngleChangeListener;
+
+            if (listener != null) {
+                dispatcher.notifyAngleChanged(listener, getAngle());
+            }
+        }
+    };
+
+    private int lifecyclePolicy = SpinningWheelView.LIFECYCLE_RESUME;
+
+    // read by the render thread of the texture view
+    private volatile WheelMetricsListener metricsListener;
+
+    private final WheelTickFeedback tickFeedback;
+
+    // ticks for the feedback and the selection listener, hopped to the main thread
+    private final WheelModel.OnTickListener tickListener;
+
+    WheelController(View view, WheelModel.OnChangeListener modelListener, Host host) {
+        this.view = view;
+        this.host = host;
+        this.dispatcher = new WheelDispatcher(view);
+        this.tickFeedback = new WheelTickFeedback(view);
+
+        // the model may be changed on another thread, the view is only touched on the main thread
+        this.modelListener = dispatcher.onMainThread(modelListener);
+        this.tickListener = dispatcher.onMainThread(new WheelModel.OnTickListener() {
+            @Override
+            public void onTick(WheelModel model, int crossings) {
+                WheelController.this.host.onTick(model, crossings);
+            }
+        });
+
+        style.setImageCache(WheelImageCache.getDefault());
+    }
+
+    // region life cycle
+
+    /**
+     * Read {@code R.styleable.Wheel}
+     */
+    public void loadAttrs(AttributeSet attrs) {
+        if (attrs == null) {
+            return;
+        }
+
+        TypedArray typedArray = view.getContext().obtainStyledAttributes(attrs, R.styleable.Wheel, 0, 0);
+
+        try {
+            style.load(view.getContext(), typedArray, view.isInEditMode());
+            host.onStyleChanged();
+
+            int itemsResId = typedArray.getResourceId(R.styleable.Wheel_wheel_items, 0);
+            setItems(itemsResId);
+
+            boolean flingEnabled = typedArray.getBoolean(R.styleable.Wheel_wheel_fling_enabled, false);
+            setFlingEnabled(flingEnabled);
+
+            float flingFriction = typedArray.getFloat(R.styleable.Wheel_wheel_fling_friction, WheelTouchHelper.FLING_FRICTION);
+            setFlingFriction(flingFriction);
+
+            int dragMode = typedArray.getInt(R.styleable.Wheel_wheel_drag_mode, SpinningWheelView.DRAG_MODE_LINEAR);
+            setDragMode(dragMode);
+
+            int easing = typedArray.getInt(R.styleable.Wheel_wheel_easing, WheelEasing.TYPE_LEGACY);
+            setEasing(WheelEasing.fromType(easing));
+
+            int lifecyclePolicy = typedArray.getInt(R.styleable.Wheel_wheel_lifecycle_policy,
+                    SpinningWheelView.LIFECYCLE_RESUME);
+            setLifecyclePolicy(lifecyclePolicy);
+
+            int tickSoundResId = typedArray.getResourceId(R.styleable.Wheel_wheel_tick_sound, 0);
+            setTickSound(tickSoundResId);
+
+            boolean tickHapticEnabled = typedArray.getBoolean(R.styleable.Wheel_wheel_tick_haptic, false);
+            setTickHapticEnabled(tickHapticEnabled);
+        } finally {
+            typedArray.recycle();
+        }
+    }
+
+    public void onAttachedToWindow() {
+        model.addOnChangeListener(modelListener);
+
+        // catch up with the changes made while detached
+        modelListener.onItemsChanged(model);
+        modelListener.onRotate(model, 0);
+
+        if (style.getImageCache() != null) {
+            style.getImageCache().registerComponentCallbacks(view.getContext());
+        }
+
+        tickFeedback.prepare(view.getContext());
+        updateTickListener();
+
+        host.updateSpinState(isActive());
+    }
+
+    public void onDetachedFromWindow() {
+        // a shared model must not leak the view
+        model.removeOnChangeListener(modelListener);
+        model.removeOnTickListener(tickListener);
+        tickFeedback.release();
+    }
+
+    /**
+     * @param circle: wheel area in view coordinates
+     */
+    public boolean onTouchEvent(MotionEvent event, Circle circle) {
+        if (onRotation) {
+            return false;
+        }
+
+        WheelMetricsListener metricsListener = this.metricsListener;
+
+        TraceCompat.beginSection(TRACE_TOUCH);
+        long start = metricsListener != null ? System.nanoTime() : 0;
+
+        try {
+            return touchHelper.onTouchEvent(view.getContext(), event, circle);
+        } finally {
+            TraceCompat.endSection();
+
+            if (metricsListener != null) {
+                metricsListener.onTouchEvent(System.nanoTime() - start);
+            }
+        }
+    }
+
+    // Attached and drawn on screen
+    public boolean isActive() {
+        return ViewCompat.isAttachedToWindow(view) && view.getWindowVisibility() == View.VISIBLE && view.isShown();
+    }
+
+    // Refresh period of the display showing the view, in nanos
+    public long getFrameInterval() {
+        Display display = ViewCompat.getDisplay(view);
+
+        if (display == null || display.getRefreshRate() <= 0) {
+            return SpinEngine.FRAME_INTERVAL;
+        }
+
+        return (long) (1000000000L / display.getRefreshRate());
+    }
+
+    // endregion
+
+    // region spin
+
+    // rotate without animation, callable from any thread
+    public void rotate(final float angle) {
+        if (!dispatcher.runPending()) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    rotate(angle);
+                }
+            });
+            return;
+        }
+
+        host.rotateModel(angle);
+    }
+
+    // callable from any thread
+    public void rotate(final float maxAngle, final long duration, final long interval) {
+        if (maxAngle == 0) {
+            return;
+        }
+
+        if (!dispatcher.runPending()) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    rotate(maxAngle, duration, interval);
+                }
+            });
+            return;
+        }
+
+        host.spin(model.createRotation(maxAngle, duration, interval));
+    }
+
+    // callable from any thread
+    public void spinTo(final int index, final int revolutions, final long duration) {
+        if (!dispatcher.runPending()) {
+            dispatcher.post(new Runnable() {
+                @Override
+                public void run() {
+                    spinTo(index, revolutions, duration);
+                }
+            });
+            return;
+        }
+
+        if (!model.hasData()) {
+            return;
+        }
+
+        host.syncAngle();
+        host.spin(model.createTargetRotation(model.getDistanceTo(index, revolutions), duration));
+    }
+
+    public boolean isSpinning() {
+        return onRotation;
+    }
+
+    public void setSpinning(boolean spinning) {
+        this.onRotation = spinning;
+    }
+
+    // Next non zero rotation of the model notifies the rotation listener
+    public void setRotationTicket(boolean ticket) {
+        this.onRotationListenerTicket = ticket;
+    }
+
+    // Called on every rotation of the model
+    public void dispatchRotation(float angle) {
+        if (onRotationListenerTicket && angle != 0 && onRotationListener != null) {
+            dispatcher.notifyRotation(onRotationListener);
+            onRotationListenerTicket = false;
+        }
+    }
+
+    // Notify the rotation listener now, the model does not rotate on the main thread
+    public void notifyRotation() {
+        onRotationListenerTicket = false;
+        dispatcher.notifyRotation(onRotationListener);
+    }
+
+    // The spin started by the view stopped
+    public void dispatchStopRotation() {
+        if (!onRotation) {
+            return;
+        }
+
+        onRotation = false;
+        dispatcher.notifyStopRotation(onRotationListener, getSelectedItem());
+    }
+
+    public float getAngle() {
+        return Float.intBitsToFloat(angle.get());
+    }
+
+    // Displayed angle changed, any thread
+    public void setAngle(float angle) {
+        this.angle.set(Float.floatToIntBits(angle));
+
+        // throttle the angle listener, the angle is read when called
+        if (onAngleChangeListener != null && anglePending.compareAndSet(false, true)) {
+            mainHandler.postDelayed(dispatchAngle,
+                    Math.max(0, lastAngleChangeTime + angleChangeInterval - SystemClock.uptimeMillis()));
+        }
+    }
+
+    // New items are not a wedge crossing
+    public void resetSelection(int index) {
+        selectedIndex = index;
+    }
+
+    // Called after a wedge boundary passed the arrow
+    public void updateSelection(int index) {
+        SpinningWheelView.OnSelectionChangeListener listener = onSelectionChangeListener;
+
+        if (index == selectedIndex || listener == null) {
+            return;
+        }
+
+        int oldIndex = selectedIndex;
+        selectedIndex = index;
+        dispatcher.notifySelectionChanged(listener, oldIndex, index);
+    }
+
+    // Boundaries are counted only when a feedback or the selection listener needs them, while attached
+    private void updateTickListener() {
+        if (ViewCompat.isAttachedToWindow(view) && (tickFeedback.isEnabled() || onSelectionChangeListener != null)) {
+            model.addOnTickListener(tickListener);
+        }
+        else {
+            model.removeOnTickListener(tickListener);
+        }
+    }
+
+    // endregion
+
+    // region model
+
+    public WheelModel getModel() {
+        return model;
+    }
+
+    public void setModel(WheelModel model) {
+        if (this.model != null) {
+            this.model.removeOnChangeListener(modelListener);
+            this.model.removeOnTickListener(tickListener);
+        }
+
+        this.model = model;
+
+        // a shared model must not keep a detached view, attach adds the listeners
+        if (ViewCompat.isAttachedToWindow(view)) {
+            model.addOnChangeListener(modelListener);
+        }
+
+        updateTickListener();
+
+        onRotation = false;
+    }
+
+    public WheelEditor edit() {
+        return new WheelEditor(view.getContext(), view.isInEditMode(), style, editorTarget);
+    }
+
+    public float getWedgeJitter() {
+        return model.getWedgeJitter();
+    }
+
+    public void setWedgeJitter(float wedgeJitter) {
+        model.setWedgeJitter(wedgeJitter);
+    }
+
+    public WheelEasing getEasing() {
+        return model.getEasing();
+    }
+
+    public void setEasing(WheelEasing easing) {
+        model.setEasing(easing);
+    }
+
+    public void setEasingInterpolator(final TimeInterpolator interpolator) {
+        setEasing(WheelEasing.of(new WheelEasing.Curve() {
+            @Override
+            public float getInterpolation(float input) {
+                return interpolator.getInterpolation(input);
+            }
+        }));
+    }
+
+    public List getItems() {
+        return model.getItems();
+    }
+
+    public void setItems(List items, float[] weights) {
+        model.setItems(items, weights);
+    }
+
+    public void setItems(@ArrayRes int itemsResId) {
+        if (itemsResId == 0) {
+            return;
+        }
+
+        // resolved once for every wheel, the copy can be modified
+        setItems(new ArrayList(WheelResources.getInstance().getItems(view.getContext(), itemsResId)), null);
+    }
+
+    public float[] getItemWeights() {
+        return model.getItemWeights();
+    }
+
+    public void setItemWeights(float[] weights) {
+        setItems(model.getItems(), weights);
+    }
+
+    public WheelAdapter getAdapter() {
+        return model.getAdapter();
+    }
+
+    public void setAdapter(WheelAdapter adapter) {
+        model.setAdapter(adapter);
+    }
+
+    public <T> T getSelectedItem() {
+        int selectedIndex = host.getSelectedIndex();
+
+        if (selectedIndex < 0) {
+            return null;
+        }
+
+        return model.getItem(selectedIndex);
+    }
+
+    // endregion
+
+    // region style
+
+    public WheelStyle getStyle() {
+        return style;
+    }
+
+    public int getWheelStrokeColor() {
+        return style.getStrokeColor();
+    }
+
+    public void setWheelStrokeColor(int wheelStrokeColor) {
+        style.setStrokeColor(wheelStrokeColor);
+        host.onStyleChanged();
+    }
+
+    public float getWheelStrokeWidth() {
+        return style.getStrokeWidth();
+    }
+
+    public void setWheelStrokeWidth(float wheelStrokeWidth) {
+        style.setStrokeWidth(wheelStrokeWidth);
+        host.onStyleChanged();
+    }
+
+    public float getWheelTextSize() {
+        return style.getTextSize();
+    }
+
+    public void setWheelTextSize(float wheelTextSize) {
+        style.setTextSize(wheelTextSize);
+        host.onStyleChanged();
+    }
+
+    public Typeface getWheelTypeface() {
+        return style.getTypeface();
+    }
+
+    public void setWheelTypeface(Typeface wheelTypeface) {
+        style.setTypeface(wheelTypeface);
+        host.onStyleChanged();
+    }
+
+    public int getLabelMode() {
+        return style.getLabelMode();
+    }
+
+    public void setLabelMode(int labelMode) {
+        style.setLabelMode(labelMode);
+        host.onStyleChanged();
+    }
+
+    public int getLabelMaxLines() {
+        return style.getLabelMaxLines();
+    }
+
+    public void setLabelMaxLines(int labelMaxLines) {
+        style.setLabelMaxLines(labelMaxLines);
+        host.onStyleChanged();
+    }
+
+    public int getWheelTextColor() {
+        return style.getTextColor();
+    }
+
+    public void setWheelTextColor(int wheelTextColor) {
+        style.setTextColor(wheelTextColor);
+        host.onStyleChanged();
+    }
+
+    public int getWheelArrowColor() {
+        return style.getArrowColor();
+    }
+
+    public void setWheelArrowColor(int wheelArrowColor) {
+        style.setArrowColor(wheelArrowColor);
+        host.onStyleChanged();
+    }
+
+    public void setWheelArrowWidth(float wheelArrowWidth) {
+        style.setArrowWidth(wheelArrowWidth);
+        host.onStyleChanged();
+    }
+
+    public void setWheelArrowHeight(float wheelArrowHeight) {
+        style.setArrowHeight(wheelArrowHeight);
+        host.onStyleChanged();
+    }
+
+    public int[] getColors() {
+        return style.getColors();
+    }
+
+    public void setColors(int[] colors) {
+        style.setColors(colors);
+        host.onStyleChanged();
+    }
+
+    public void setColors(@ArrayRes int colorsResId) {
+        setColors(WheelResources.getInstance().getColors(view.getContext(), colorsResId, view.isInEditMode()));
+    }
+
+    public boolean isRenderCacheEnabled() {
+        return style.isRenderCacheEnabled();
+    }
+
+    public void setRenderCacheEnabled(boolean renderCacheEnabled) {
+        style.setRenderCacheEnabled(renderCacheEnabled);
+        host.onStyleChanged();
+    }
+
+    public long getWedgeAnimationDuration() {
+        return style.getWedgeAnimationDuration();
+    }
+
+    public void setWedgeAnimationDuration(long wedgeAnimationDuration) {
+        style.setWedgeAnimationDuration(wedgeAnimationDuration);
+        host.onStyleChanged();
+    }
+
+    public WheelImageCache getImageCache() {
+        return style.getImageCache();
+    }
+
+    public void setImageCache(WheelImageCache imageCache) {
+        style.setImageCache(imageCache);
+        host.onStyleChanged();
+    }
+
+    public boolean isSharedRenderCacheEnabled() {
+        return style.isSharedRenderCacheEnabled();
+    }
+
+    public void setSharedRenderCacheEnabled(boolean sharedRenderCacheEnabled) {
+        style.setSharedRenderCacheEnabled(sharedRenderCacheEnabled);
+        host.onStyleChanged();
+    }
+
+    public boolean isScalableEnabled() {
+        return style.isScalableEnabled();
+    }
+
+    public void setScalableEnabled(boolean scalableEnabled) {
+        style.setScalableEnabled(scalableEnabled);
+        host.onStyleChanged();
+    }
+
+    public float getZoom() {
+        return style.getZoom();
+    }
+
+    public void setZoom(float zoom) {
+        style.setZoom(zoom);
+        host.onStyleChanged();
+    }
+
+    public float getMinWedgeSize() {
+        return style.getMinWedgeSize();
+    }
+
+    public void setMinWedgeSize(float minWedgeSize) {
+        style.setMinWedgeSize(minWedgeSize);
+        host.onStyleChanged();
+    }
+
+    // endregion
+
+    // region touch
+
+    public boolean isFlingEnabled() {
+        return touchHelper.isFlingEnabled();
+    }
+
+    public void setFlingEnabled(boolean flingEnabled) {
+        touchHelper.setFlingEnabled(flingEnabled);
+    }
+
+    public int getDragMode() {
+        return touchHelper.getDragMode();
+    }
+
+    public void setDragMode(int dragMode) {
+        touchHelper.setDragMode(dragMode);
+    }
+
+    public float getFlingFriction() {
+        return touchHelper.getFlingFriction();
+    }
+
+    public void setFlingFriction(float flingFriction) {
+        touchHelper.setFlingFriction(flingFriction);
+    }
+
+    // endregion
+
+    // region listeners
+
+    public SpinningWheelView.OnRotationListener getOnRotationListener() {
+        return onRotationListener;
+    }
+
+    public void setOnRotationListener(SpinningWheelView.OnRotationListener onRotationListener) {
+        this.onRotationListener = onRotationListener;
+    }
+
+    public SpinningWheelView.OnSelectionChangeListener getOnSelectionChangeListener() {
+        return onSelectionChangeListener;
+    }
+
+    public void setOnSelectionChangeListener(SpinningWheelView.OnSelectionChangeListener onSelectionChangeListener) {
+        selectedIndex = host.getSelectedIndex();
+        this.onSelectionChangeListener = onSelectionChangeListener;
+        updateTickListener();
+    }
+
+    public SpinningWheelView.OnAngleChangeListener getOnAngleChangeListener() {
+        return onAngleChangeListener;
+    }
+
+    public void setOnAngleChangeListener(SpinningWheelView.OnAngleChangeListener onAngleChangeListener,
+                                         long angleChangeInterval) {
+        this.angleChangeInterval = Math.max(0, angleChangeInterval);
+        this.onAngleChangeListener = onAngleChangeListener;
+    }
+
+    public Executor getListenerExecutor() {
+        return dispatcher.getListenerExecutor();
+    }
+
+    public void setListenerExecutor(Executor listenerExecutor) {
+        dispatcher.setListenerExecutor(listenerExecutor);
+    }
+
+    public int getLifecyclePolicy() {
+        return lifecyclePolicy;
+    }
+
+    public void setLifecyclePolicy(int lifecyclePolicy) {
+        this.lifecyclePolicy = lifecyclePolicy;
+        host.updateSpinState(isActive());
+    }
+
+    public int getTickSound() {
+        return tickFeedback.getSound();
+    }
+
+    public void setTickSound(@RawRes int tickSoundResId) {
+        tickFeedback.setSound(tickSoundResId);
+
+        if (ViewCompat.isAttachedToWindow(view)) {
+            tickFeedback.prepare(view.getContext());
+        }
+
+        updateTickListener();
+    }
+
+    public boolean isTickHapticEnabled() {
+        return tickFeedback.isHapticEnabled();
+    }
+
+    public void setTickHapticEnabled(boolean tickHapticEnabled) {
+        tickFeedback.setHapticEnabled(tickHapticEnabled);
+        updateTickListener();
+    }
+
+    public WheelTickFeedback getTickFeedback() {
+        return tickFeedback;
+    }
+
+    public WheelMetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    public void setMetricsListener(WheelMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    // endregion
+}
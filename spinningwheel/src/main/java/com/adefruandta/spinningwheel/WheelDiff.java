@@ -0,0 +1,168 @@
+package com.adefruandta.spinningwheel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Difference between two item lists as range changes, inserts and removes, like DiffUtil of RecyclerView.
+ * Common head and tail are skipped in linear time, the rest is aligned with a longest common subsequence.
+ * Moves are reported as remove and insert.
+ */
+public class WheelDiff {
+
+    // Biggest LCS table, a bigger changed block is reported as one remove and one insert
+    private final static int MAX_CELLS = 1 << 20;
+
+    private final static int CHANGE = 0;
+
+    private final static int INSERT = 1;
+
+    private final static int REMOVE = 2;
+
+    // type, position, count, in dispatch order (from the end of the list)
+    private final List<int[]> updates = new ArrayList<>();
+
+    private WheelDiff() {
+    }
+
+    public static <T> WheelDiff calculate(List<T> oldItems, List<T> newItems, Callback<T> callback) {
+        WheelDiff diff = new WheelDiff();
+        diff.compute(oldItems, newItems, callback);
+        return diff;
+    }
+
+    /**
+     * Notify the adapter, which must already hold the new items
+     */
+    public void dispatchUpdatesTo(WheelAdapter adapter) {
+        for (int[] update : updates) {
+            switch (update[0]) {
+                case CHANGE:
+                    adapter.notifyItemRangeChanged(update[1], update[2]);
+                    break;
+
+                case INSERT:
+                    adapter.notifyItemRangeInserted(update[1], update[2]);
+                    break;
+
+                default:
+                    adapter.notifyItemRangeRemoved(update[1], update[2]);
+                    break;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return updates.isEmpty();
+    }
+
+    private <T> void compute(List<T> oldItems, List<T> newItems, Callback<T> callback) {
+        int oldSize = oldItems.size();
+        int newSize = newItems.size();
+
+        int head = 0;
+        while (head < oldSize && head < newSize && callback.areItemsTheSame(oldItems.get(head), newItems.get(head))) {
+            head++;
+        }
+
+        int tail = 0;
+        while (tail < oldSize - head && tail < newSize - head
+                && callback.areItemsTheSame(oldItems.get(oldSize - 1 - tail), newItems.get(newSize - 1 - tail))) {
+            tail++;
+        }
+
+        // walk from the end, so the positions of the next updates are not shifted yet
+        for (int i = 0; i < tail; i++) {
+            match(oldItems, newItems, oldSize - 1 - i, newSize - 1 - i, callback);
+        }
+
+        computeMiddle(oldItems, newItems, head, oldSize - head - tail, newSize - head - tail, callback);
+
+        for (int i = head - 1; i >= 0; i--) {
+            match(oldItems, newItems, i, i, callback);
+        }
+    }
+
+    private <T> void computeMiddle(List<T> oldItems, List<T> newItems, int start, int oldCount, int newCount,
+                                   Callback<T> callback) {
+        if ((long) oldCount * newCount > MAX_CELLS || oldCount == 0 || newCount == 0) {
+            add(INSERT, start + oldCount, newCount);
+            add(REMOVE, start, oldCount);
+            return;
+        }
+
+        // lengths[i * (newCount + 1) + j] is the LCS length of the first i old and first j new items
+        int width = newCount + 1;
+        int[] lengths = new int[(oldCount + 1) * width];
+
+        for (int i = 1; i <= oldCount; i++) {
+            for (int j = 1; j <= newCount; j++) {
+                if (callback.areItemsTheSame(oldItems.get(start + i - 1), newItems.get(start + j - 1))) {
+                    lengths[i * width + j] = lengths[(i - 1) * width + j - 1] + 1;
+                }
+                else {
+                    lengths[i * width + j] = Math.max(lengths[(i - 1) * width + j], lengths[i * width + j - 1]);
+                }
+            }
+        }
+
+        int i = oldCount;
+        int j = newCount;
+
+        while (i > 0 || j > 0) {
+            if (i > 0 && j > 0 && lengths[i * width + j] == lengths[(i - 1) * width + j - 1] + 1
+                    && callback.areItemsTheSame(oldItems.get(start + i - 1), newItems.get(start + j - 1))) {
+                match(oldItems, newItems, start + i - 1, start + j - 1, callback);
+                i--;
+                j--;
+            }
+            else if (i > 0 && (j == 0 || lengths[(i - 1) * width + j] >= lengths[i * width + j - 1])) {
+                add(REMOVE, start + i - 1, 1);
+                i--;
+            }
+            else {
+                add(INSERT, start + i, 1);
+                j--;
+            }
+        }
+    }
+
+    private <T> void match(List<T> oldItems, List<T> newItems, int oldPosition, int newPosition, Callback<T> callback) {
+        if (!callback.areContentsTheSame(oldItems.get(oldPosition), newItems.get(newPosition))) {
+            add(CHANGE, oldPosition, 1);
+        }
+    }
+
+    // merge with the previous update when contiguous
+    private void add(int type, int position, int count) {
+        if (count == 0) {
+            return;
+        }
+
+        if (!updates.isEmpty()) {
+            int[] last = updates.get(updates.size() - 1);
+
+            if (last[0] == type && type == INSERT && last[1] == position) {
+                last[2] += count;
+                return;
+            }
+
+            if (last[0] == type && type != INSERT && last[1] == position + count) {
+                last[1] = position;
+                last[2] += count;
+                return;
+            }
+        }
+
+        updates.add(new int[]{type, position, count});
+    }
+
+    public interface Callback<T> {
+
+        // same entity, e.g. same id
+        boolean areItemsTheSame(T oldItem, T newItem);
+
+        // same label and weight, the wedge does not need to be recomputed
+        boolean areContentsTheSame(T oldItem, T newItem);
+    }
+}
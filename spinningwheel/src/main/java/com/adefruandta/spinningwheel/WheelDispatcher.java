@@ -0,0 +1,279 @@
+package com.adefruandta.spinningwheel;
+
+import android.os.Looper;
+import android.support.v4.view.ViewCompat;
+import android.view.View;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Thread hops of a wheel view: spin commands called from any thread run on the main thread,
+ * rotation listener callbacks run on an optional executor.
+ * Commands from other threads are queued lock free and run in order on the next animation frame.
+ * Model callbacks are hopped the same way, see {@link #onMainThread(WheelModel.OnChangeListener)}.
+ */
+class WheelDispatcher {
+
+    private final View view;
+
+    private final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final Runnable drain = new Runnable() {
+        @Override
+        public void run() {
+            scheduled.set(false);
+            runPending();
+        }
+    };
+
+    private volatile Executor listenerExecutor;
+
+    WheelDispatcher(View view) {
+        this.view = view;
+    }
+
+    /**
+     * Run the queued commands when called on the main thread, so a new command run after them
+     *
+     * @return false on another thread, the command must be posted
+     */
+    public boolean runPending() {
+        if (!isMainThread()) {
+            return false;
+        }
+
+        Runnable command;
+
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+
+        return true;
+    }
+
+    /**
+     * Run the command on the main thread on the next animation frame, callable from any thread
+     */
+    public void post(Runnable command) {
+        commands.offer(command);
+
+        if (scheduled.compareAndSet(false, true)) {
+            ViewCompat.postOnAnimation(view, drain);
+        }
+    }
+
+    public boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    /**
+     * Model listener of the view, called on the main thread even when the model is changed on another thread.
+     * Callbacks from other threads run in order on the next animation frame, before the frame is drawn.
+     *
+     * @param listener: listener touching the view, main thread only
+     * @return listener to add to the model
+     */
+    public WheelModel.OnChangeListener onMainThread(final WheelModel.OnChangeListener listener) {
+        return new WheelModel.OnChangeListener() {
+            @Override
+            public void onRotate(final WheelModel model, final float angle) {
+                if (isMainThread()) {
+                    listener.onRotate(model, angle);
+                    return;
+                }
+
+                post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onRotate(model, angle);
+                    }
+                });
+            }
+
+            @Override
+            public void onItemsChanged(final WheelModel model) {
+                if (isMainThread()) {
+                    listener.onItemsChanged(model);
+                    return;
+                }
+
+                post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onItemsChanged(model);
+                    }
+                });
+            }
+
+            @Override
+            public void onItemRangeChanged(final WheelModel model, final int positionStart, final int itemCount) {
+                if (isMainThread()) {
+                    listener.onItemRangeChanged(model, positionStart, itemCount);
+                    return;
+                }
+
+                post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onItemRangeChanged(model, positionStart, itemCount);
+                    }
+                });
+            }
+
+            @Override
+            public void onItemRangeInserted(final WheelModel model, final int positionStart, final int itemCount) {
+                if (isMainThread()) {
+                    listener.onItemRangeInserted(model, positionStart, itemCount);
+                    return;
+                }
+
+                post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onItemRangeInserted(model, positionStart, itemCount);
+                    }
+                });
+            }
+
+            @Override
+            public void onItemRangeRemoved(final WheelModel model, final int positionStart, final int itemCount) {
+                if (isMainThread()) {
+                    listener.onItemRangeRemoved(model, positionStart, itemCount);
+                    return;
+                }
+
+                post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onItemRangeRemoved(model, positionStart, itemCount);
+                    }
+                });
+            }
+
+            @Override
+            public void onSpinStop(final WheelModel model) {
+                if (isMainThread()) {
+                    listener.onSpinStop(model);
+                    return;
+                }
+
+                post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onSpinStop(model);
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Tick listener of the view on the main thread, see {@link #onMainThread(WheelModel.OnChangeListener)}
+     */
+    public WheelModel.OnTickListener onMainThread(final WheelModel.OnTickListener listener) {
+        return new WheelModel.OnTickListener() {
+            @Override
+            public void onTick(final WheelModel model, final int crossings) {
+                if (isMainThread()) {
+                    listener.onTick(model, crossings);
+                    return;
+                }
+
+                post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onTick(model, crossings);
+                    }
+                });
+            }
+        };
+    }
+
+    public Executor getListenerExecutor() {
+        return listenerExecutor;
+    }
+
+    /**
+     * @param listenerExecutor: executor of the rotation listener callbacks, null to call them on the main thread
+     */
+    public void setListenerExecutor(Executor listenerExecutor) {
+        this.listenerExecutor = listenerExecutor;
+    }
+
+    public void notifyRotation(final SpinningWheelView.OnRotationListener listener) {
+        if (listener == null) {
+            return;
+        }
+
+        Executor executor = listenerExecutor;
+
+        if (executor == null) {
+            listener.onRotation();
+            return;
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                listener.onRotation();
+            }
+        });
+    }
+
+    public void notifySelectionChanged(final SpinningWheelView.OnSelectionChangeListener listener,
+                                       final int oldIndex, final int newIndex) {
+        Executor executor = listenerExecutor;
+
+        if (executor == null) {
+            listener.onSelectionChanged(oldIndex, newIndex);
+            return;
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                listener.onSelectionChanged(oldIndex, newIndex);
+            }
+        });
+    }
+
+    public void notifyAngleChanged(final SpinningWheelView.OnAngleChangeListener listener, final float angle) {
+        Executor executor = listenerExecutor;
+
+        if (executor == null) {
+            listener.onAngleChanged(angle);
+            return;
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                listener.onAngleChanged(angle);
+            }
+        });
+    }
+
+    public void notifyStopRotation(final SpinningWheelView.OnRotationListener listener, final Object item) {
+        if (listener == null) {
+            return;
+        }
+
+        Executor executor = listenerExecutor;
+
+        if (executor == null) {
+            listener.onStopRotation(item);
+            return;
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                listener.onStopRotation(item);
+            }
+        });
+    }
+}
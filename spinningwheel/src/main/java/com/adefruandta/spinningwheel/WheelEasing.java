@@ -0,0 +1,132 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Slow down profile of a spin: fraction of the distance travelled at a fraction of the duration.
+ * The curve is sampled once into a small lookup table, a frame only reads and interpolates
+ * two samples whatever the curve. Immutable, can be shared by every wheel.
+ */
+public final class WheelEasing {
+
+    // Samples of the curve, interpolated linearly in between
+    private final static int SAMPLES = 256;
+
+    final static int TYPE_LEGACY = 0;
+
+    final static int TYPE_CUBIC = 1;
+
+    final static int TYPE_EXPONENTIAL = 2;
+
+    final static int TYPE_OVERSHOOT = 3;
+
+    private final static float FRICTION = 5f;
+
+    private final static float TENSION = 2f;
+
+    // table[i] is the curve at i / SAMPLES
+    private final float[] table = new float[SAMPLES + 1];
+
+    private WheelEasing(Curve curve) {
+        for (int i = 0; i <= SAMPLES; i++) {
+            table[i] = curve.getInterpolation((float) i / SAMPLES);
+        }
+    }
+
+    /**
+     * Custom profile, e.g. from a {@link android.animation.TimeInterpolator}
+     *
+     * @param curve: evaluated once per sample, must go from 0 to 1
+     */
+    public static WheelEasing of(Curve curve) {
+        return new WheelEasing(curve);
+    }
+
+    /**
+     * Fast start and smooth stop
+     */
+    public static WheelEasing cubicDecelerate() {
+        return new WheelEasing(new Curve() {
+            @Override
+            public float getInterpolation(float input) {
+                float rest = 1 - input;
+                return 1 - rest * rest * rest;
+            }
+        });
+    }
+
+    public static WheelEasing exponentialFriction() {
+        return exponentialFriction(FRICTION);
+    }
+
+    /**
+     * Speed decays exponentially like by friction, and is cut at the end
+     *
+     * @param friction: decay rate over the duration, higher value slow down sooner
+     */
+    public static WheelEasing exponentialFriction(final float friction) {
+        if (friction <= 0) {
+            throw new IllegalArgumentException("Friction must be positive, friction is " + friction);
+        }
+
+        final double total = 1 - Math.exp(-friction);
+
+        return new WheelEasing(new Curve() {
+            @Override
+            public float getInterpolation(float input) {
+                return (float) ((1 - Math.exp(-friction * input)) / total);
+            }
+        });
+    }
+
+    public static WheelEasing overshoot() {
+        return overshoot(TENSION);
+    }
+
+    /**
+     * Pass the stop position and settle back on it
+     *
+     * @param tension: amount of overshoot, 0 for none
+     */
+    public static WheelEasing overshoot(final float tension) {
+        return new WheelEasing(new Curve() {
+            @Override
+            public float getInterpolation(float input) {
+                float t = input - 1;
+                return t * t * ((tension + 1) * t + tension) + 1;
+            }
+        });
+    }
+
+    /**
+     * @param type: value of the wheel_easing attribute
+     * @return null for the legacy curves
+     */
+    static WheelEasing fromType(int type) {
+        switch (type) {
+            case TYPE_CUBIC:
+                return cubicDecelerate();
+            case TYPE_EXPONENTIAL:
+                return exponentialFriction();
+            case TYPE_OVERSHOOT:
+                return overshoot();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param input: fraction of the duration, clamped between 0 and 1
+     * @return fraction of the distance
+     */
+    public float getInterpolation(float input) {
+        float position = Math.max(0, Math.min(input, 1)) * SAMPLES;
+        int index = Math.min((int) position, SAMPLES - 1);
+        float from = table[index];
+
+        return from + (table[index + 1] - from) * (position - index);
+    }
+
+    public interface Curve {
+
+        float getInterpolation(float input);
+    }
+}
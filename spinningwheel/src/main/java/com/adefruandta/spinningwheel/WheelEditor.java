@@ -0,0 +1,170 @@
+package com.adefruandta.spinningwheel;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.support.annotation.ArrayRes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch of property changes of a wheel, see {@link SpinningWheelView#edit()}.
+ * Nothing is visible before {@link #apply()}, then the wheel rebuilds its paints, wedges and
+ * render cache once on the next frame whatever the number of changes.
+ * Not reusable after apply.
+ */
+public class WheelEditor {
+
+    interface Target {
+
+        void apply(WheelStyle style, boolean itemsChanged, List items, float[] weights);
+    }
+
+    private final Context context;
+
+    // layout preview, resources are not cached
+    private final boolean editMode;
+
+    private final Target target;
+
+    private final WheelStyle style;
+
+    private boolean itemsChanged;
+
+    private List items;
+
+    private float[] weights;
+
+    WheelEditor(Context context, boolean editMode, WheelStyle style, Target target) {
+        this.context = context;
+        this.editMode = editMode;
+        this.target = target;
+        this.style = new WheelStyle(style);
+    }
+
+    public WheelEditor setColors(int[] colors) {
+        style.setColors(colors);
+        return this;
+    }
+
+    // Minimal length 3
+    public WheelEditor setColors(@ArrayRes int colorsResId) {
+        style.setColors(WheelResources.getInstance().getColors(context, colorsResId, editMode));
+        return this;
+    }
+
+    public WheelEditor setWheelStrokeColor(int wheelStrokeColor) {
+        style.setStrokeColor(wheelStrokeColor);
+        return this;
+    }
+
+    public WheelEditor setWheelStrokeWidth(float wheelStrokeWidth) {
+        style.setStrokeWidth(wheelStrokeWidth);
+        return this;
+    }
+
+    public WheelEditor setWheelTextSize(float wheelTextSize) {
+        style.setTextSize(wheelTextSize);
+        return this;
+    }
+
+    public WheelEditor setWheelTextColor(int wheelTextColor) {
+        style.setTextColor(wheelTextColor);
+        return this;
+    }
+
+    public WheelEditor setWheelTypeface(Typeface wheelTypeface) {
+        style.setTypeface(wheelTypeface);
+        return this;
+    }
+
+    public WheelEditor setLabelMode(int labelMode) {
+        style.setLabelMode(labelMode);
+        return this;
+    }
+
+    public WheelEditor setLabelMaxLines(int labelMaxLines) {
+        style.setLabelMaxLines(labelMaxLines);
+        return this;
+    }
+
+    public WheelEditor setWheelArrowColor(int wheelArrowColor) {
+        style.setArrowColor(wheelArrowColor);
+        return this;
+    }
+
+    public WheelEditor setWheelArrowWidth(float wheelArrowWidth) {
+        style.setArrowWidth(wheelArrowWidth);
+        return this;
+    }
+
+    public WheelEditor setWheelArrowHeight(float wheelArrowHeight) {
+        style.setArrowHeight(wheelArrowHeight);
+        return this;
+    }
+
+    public WheelEditor setScalableEnabled(boolean scalableEnabled) {
+        style.setScalableEnabled(scalableEnabled);
+        return this;
+    }
+
+    public WheelEditor setZoom(float zoom) {
+        style.setZoom(zoom);
+        return this;
+    }
+
+    public WheelEditor setMinWedgeSize(float minWedgeSize) {
+        style.setMinWedgeSize(minWedgeSize);
+        return this;
+    }
+
+    public WheelEditor setRenderCacheEnabled(boolean renderCacheEnabled) {
+        style.setRenderCacheEnabled(renderCacheEnabled);
+        return this;
+    }
+
+    public WheelEditor setSharedRenderCacheEnabled(boolean sharedRenderCacheEnabled) {
+        style.setSharedRenderCacheEnabled(sharedRenderCacheEnabled);
+        return this;
+    }
+
+    public WheelEditor setWedgeAnimationDuration(long wedgeAnimationDuration) {
+        style.setWedgeAnimationDuration(wedgeAnimationDuration);
+        return this;
+    }
+
+    public WheelEditor setImageCache(WheelImageCache imageCache) {
+        style.setImageCache(imageCache);
+        return this;
+    }
+
+    public WheelEditor setItems(List items) {
+        return setItems(items, null);
+    }
+
+    /**
+     * @param weights: weight of every item, same length as items, null for equal wedges
+     */
+    public WheelEditor setItems(List items, float[] weights) {
+        this.itemsChanged = true;
+        this.items = items;
+        this.weights = weights;
+        return this;
+    }
+
+    public WheelEditor setItems(@ArrayRes int itemsResId) {
+        if (itemsResId == 0) {
+            return this;
+        }
+
+        // resolved once for every wheel, the copy can be modified
+        return setItems(new ArrayList(WheelResources.getInstance().getItems(context, itemsResId)));
+    }
+
+    /**
+     * Commit every change at once
+     */
+    public void apply() {
+        target.apply(style, itemsChanged, items, weights);
+    }
+}
@@ -0,0 +1,94 @@
+package com.adefruandta.spinningwheel;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.support.annotation.DrawableRes;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Source of a wedge image, decoded and downsampled to the wedge size by {@link WheelImageCache}
+ * on a background thread. Images with the same key share the same bitmap in the cache.
+ */
+public abstract class WheelImage {
+
+    private final String key;
+
+    /**
+     * @param key: unique id of the image content, e.g. its uri
+     */
+    protected WheelImage(String key) {
+        this.key = key;
+    }
+
+    public final String getKey() {
+        return key;
+    }
+
+    /**
+     * Decode the image with the options, called twice on a background thread:
+     * with {@code inJustDecodeBounds} to read the size, then with {@code inSampleSize}
+     *
+     * @return decoded bitmap, null on error or when only bounds are decoded
+     */
+    protected abstract Bitmap decode(BitmapFactory.Options options) throws IOException;
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof WheelImage && key.equals(((WheelImage) o).key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    public static WheelImage fromResource(final Resources resources, @DrawableRes final int resId) {
+        return new WheelImage("res:" + resId) {
+            @Override
+            protected Bitmap decode(BitmapFactory.Options options) {
+                return BitmapFactory.decodeResource(resources, resId, options);
+            }
+        };
+    }
+
+    public static WheelImage fromFile(final String path) {
+        return new WheelImage("file:" + path) {
+            @Override
+            protected Bitmap decode(BitmapFactory.Options options) {
+                return BitmapFactory.decodeFile(path, options);
+            }
+        };
+    }
+
+    /**
+     * @param key:    unique id of the stream content
+     * @param opener: open a new stream on every call, the stream is closed after decode
+     */
+    public static WheelImage fromStream(String key, final StreamOpener opener) {
+        return new WheelImage(key) {
+            @Override
+            protected Bitmap decode(BitmapFactory.Options options) throws IOException {
+                InputStream stream = opener.open();
+
+                try {
+                    return BitmapFactory.decodeStream(stream, null, options);
+                } finally {
+                    stream.close();
+                }
+            }
+        };
+    }
+
+    public interface StreamOpener {
+
+        InputStream open() throws IOException;
+    }
+}
@@ -0,0 +1,347 @@
+package com.adefruandta.spinningwheel;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.support.v4.util.LruCache;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Size bounded LRU cache of decoded wedge images, shared by every wheel view.
+ * Images are decoded and downsampled to the wedge size on background threads, the draw path only
+ * reads the cache. Bitmaps evicted while no wheel draws them are reused through a bitmap pool.
+ * Thread safe.
+ */
+public class WheelImageCache implements ComponentCallbacks2 {
+
+    private final static String TAG = "WheelImageCache";
+
+    private final static int DECODE_THREADS = 2;
+
+    // Part of the heap used by the default cache
+    private final static int MEMORY_DIVIDER = 8;
+
+    // Part of the cache size kept in the pool
+    private final static int POOL_DIVIDER = 4;
+
+    private final static Executor DECODE_EXECUTOR = Executors.newFixedThreadPool(DECODE_THREADS, new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "SpinningWheelDecode");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private static WheelImageCache defaultCache;
+
+    private final int maxSize;
+
+    private final LruCache<String, Entry> cache;
+
+    private final WheelBitmapPool pool;
+
+    private boolean registered;
+
+    // callbacks of the images being decoded
+    private final Map<String, List<Runnable>> pending = new HashMap<>();
+
+    // images which could not be decoded, not retried until the cache is cleared
+    private final Set<String> failed = new HashSet<>();
+
+    /**
+     * @param maxSize: max bytes of the cached bitmaps
+     */
+    public WheelImageCache(int maxSize) {
+        this.maxSize = maxSize;
+
+        cache = new LruCache<String, Entry>(maxSize) {
+            @Override
+            protected int sizeOf(String key, Entry entry) {
+                return entry.bitmap.getByteCount();
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, String key, Entry oldEntry, Entry newEntry) {
+                oldEntry.removed = true;
+
+                if (oldEntry.refs == 0) {
+                    pool.put(oldEntry.bitmap);
+                }
+            }
+        };
+
+        pool = new WheelBitmapPool(maxSize / POOL_DIVIDER);
+    }
+
+    /**
+     * Cache shared by the wheel views, an eighth of the heap
+     */
+    public static synchronized WheelImageCache getDefault() {
+        if (defaultCache == null) {
+            defaultCache = new WheelImageCache((int) Math.min(Runtime.getRuntime().maxMemory() / MEMORY_DIVIDER,
+                    Integer.MAX_VALUE));
+        }
+
+        return defaultCache;
+    }
+
+    /**
+     * Trim the cache when the app memory is low, once per cache, called by the wheel views
+     */
+    public synchronized void registerComponentCallbacks(Context context) {
+        if (!registered) {
+            context.getApplicationContext().registerComponentCallbacks(this);
+            registered = true;
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return bytes of the cached bitmaps
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public synchronized void evictAll() {
+        cache.evictAll();
+        pool.trimToSize(0);
+        failed.clear();
+    }
+
+    // region memory
+
+    @Override
+    public synchronized void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_MODERATE) {
+            evictAll();
+        }
+        else if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_LOW
+                || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+            cache.trimToSize(maxSize / 2);
+            pool.trimToSize(0);
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        evictAll();
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+
+    // endregion
+
+    // region renderer
+
+    /**
+     * Mark the bitmap as drawn, it is not reused while acquired even if evicted
+     *
+     * @return entry of the key, null if not decoded yet
+     */
+    synchronized Entry acquire(String key) {
+        Entry entry = cache.get(key);
+
+        if (entry != null) {
+            entry.refs++;
+        }
+
+        return entry;
+    }
+
+    /**
+     * @return true if the image could not be decoded, it is not retried until the cache is cleared
+     */
+    synchronized boolean isFailed(String key) {
+        return failed.contains(key);
+    }
+
+    synchronized void release(Entry entry) {
+        entry.refs--;
+
+        if (entry.refs == 0 && entry.removed) {
+            pool.put(entry.bitmap);
+        }
+    }
+
+    /**
+     * Decode the image in background if not cached, pending or failed
+     *
+     * @param key:      key of the image at this size
+     * @param size:     max width and height of the bitmap
+     * @param callback: called on a background thread once the image is in the cache or failed to decode
+     */
+    synchronized void load(final WheelImage image, final String key, final int size, Runnable callback) {
+        if (failed.contains(key) || cache.get(key) != null) {
+            return;
+        }
+
+        List<Runnable> callbacks = pending.get(key);
+
+        if (callbacks != null) {
+            if (!callbacks.contains(callback)) {
+                callbacks.add(callback);
+            }
+
+            return;
+        }
+
+        callbacks = new ArrayList<>();
+        callbacks.add(callback);
+        pending.put(key, callbacks);
+
+        DECODE_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                onDecoded(key, decode(image, key, size));
+            }
+        });
+    }
+
+    // endregion
+
+    // region decode
+
+    private void onDecoded(String key, Bitmap bitmap) {
+        List<Runnable> callbacks;
+
+        synchronized (this) {
+            callbacks = pending.remove(key);
+
+            // waiting wheels stop expecting the image
+            if (bitmap == null) {
+                failed.add(key);
+            }
+            else {
+                cache.put(key, new Entry(bitmap));
+            }
+        }
+
+        for (Runnable callback : callbacks) {
+            if (callback != null) {
+                callback.run();
+            }
+        }
+    }
+
+    private Bitmap decode(WheelImage image, String key, int size) {
+        try {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            image.decode(options);
+
+            int width = options.outWidth;
+            int height = options.outHeight;
+
+            if (width <= 0 || height <= 0) {
+                Log.w(TAG, "Cannot decode " + key);
+                return null;
+            }
+
+            options.inJustDecodeBounds = false;
+            options.inSampleSize = getSampleSize(width, height, size);
+            options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+
+            Bitmap decoded = image.decode(options);
+
+            if (decoded == null) {
+                Log.w(TAG, "Cannot decode " + key);
+                return null;
+            }
+
+            return scale(decoded, width, height, size);
+        } catch (IOException | RuntimeException | OutOfMemoryError e) {
+            Log.w(TAG, "Cannot decode " + key, e);
+            return null;
+        }
+    }
+
+    // Fit the decoded bitmap in the size, into a pooled bitmap if any
+    private Bitmap scale(Bitmap decoded, int width, int height, int size) {
+        float scale = Math.min(1, (float) size / Math.max(width, height));
+        int targetWidth = Math.max(1, Math.round(width * scale));
+        int targetHeight = Math.max(1, Math.round(height * scale));
+
+        if (decoded.getWidth() == targetWidth && decoded.getHeight() == targetHeight) {
+            return decoded;
+        }
+
+        Bitmap bitmap;
+
+        synchronized (this) {
+            bitmap = pool.get(targetWidth, targetHeight);
+        }
+
+        if (bitmap == null) {
+            bitmap = Bitmap.createBitmap(targetWidth, targetHeight, Bitmap.Config.ARGB_8888);
+        }
+        else {
+            bitmap.eraseColor(Color.TRANSPARENT);
+        }
+
+        Canvas canvas = new Canvas(bitmap);
+        canvas.drawBitmap(decoded, null, new Rect(0, 0, targetWidth, targetHeight), new Paint(Paint.FILTER_BITMAP_FLAG));
+        decoded.recycle();
+
+        return bitmap;
+    }
+
+    /**
+     * @return biggest power of 2 which keeps the longest side at least size
+     */
+    static int getSampleSize(int width, int height, int size) {
+        int longest = Math.max(width, height);
+        int sampleSize = 1;
+
+        while (longest / (sampleSize * 2) >= size) {
+            sampleSize *= 2;
+        }
+
+        return sampleSize;
+    }
+
+    // endregion
+
+    // Bitmap of a key and the number of wheels drawing it, guarded by the cache
+    static final class Entry {
+
+        final Bitmap bitmap;
+
+        int refs;
+
+        boolean removed;
+
+        Entry(Bitmap bitmap) {
+            this.bitmap = bitmap;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Item with an image drawn on its wedge, implemented by the items of
+ * {@link SpinningWheelView#setItems(java.util.List)} or of a {@link WheelAdapter}.
+ * The label is still drawn, return an empty label to only show the image.
+ */
+public interface WheelImageItem {
+
+    /**
+     * @return image of the wedge, null for none
+     */
+    WheelImage getImage();
+}
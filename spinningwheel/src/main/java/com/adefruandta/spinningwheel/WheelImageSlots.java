@@ -0,0 +1,187 @@
+package com.adefruandta.spinningwheel;
+
+import android.graphics.Bitmap;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bitmap of every item image, taken from the {@link WheelImageCache}.
+ * Missing images are requested once and picked up by the frame after their decode, nothing is decoded
+ * on the draw path and the cache is not polled in between.
+ * Slots are rebuilt only when items, image size or cache change.
+ */
+class WheelImageSlots {
+
+    private WheelImageCache cache;
+
+    private int imageSize;
+
+    private boolean valid;
+
+    private WheelImage[] images = new WheelImage[0];
+
+    // image key at the image size
+    private String[] keys = new String[0];
+
+    private WheelImageCache.Entry[] entries = new WheelImageCache.Entry[0];
+
+    // load requested from the cache
+    private boolean[] requested = new boolean[0];
+
+    // image could not be decoded, drawn without image
+    private boolean[] failed = new boolean[0];
+
+    // items with an image
+    private int imageCount;
+
+    // images neither in the cache nor failed yet
+    private int missing;
+
+    // a requested image was decoded or failed since the last scan, written by the decode threads
+    private final AtomicBoolean decoded = new AtomicBoolean();
+
+    private volatile Runnable callback;
+
+    // same instance for every load, the cache keeps one callback per image
+    private final Runnable onDecoded = new Runnable() {
+        @Override
+        public void run() {
+            decoded.set(true);
+
+            Runnable callback = WheelImageSlots.this.callback;
+
+            if (callback != null) {
+                callback.run();
+            }
+        }
+    };
+
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * @param imageSize: max width and height of the images, 0 to draw no image
+     * @param callback:  called on a background thread when a missing image is decoded or failed
+     * @return true if a bitmap changed since the previous call
+     */
+    public boolean update(WheelModel model, WheelImageCache cache, int imageSize, Runnable callback) {
+        boolean changed = false;
+
+        this.callback = callback;
+
+        if (!valid || this.cache != cache || this.imageSize != imageSize) {
+            changed = release();
+            build(model, cache, imageSize);
+        }
+
+        // nothing to pick up until a decode ends
+        if (missing == 0 || !decoded.getAndSet(false)) {
+            return changed;
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null || entries[i] != null || failed[i]) {
+                continue;
+            }
+
+            entries[i] = cache.acquire(keys[i]);
+
+            if (entries[i] != null) {
+                missing--;
+                changed = true;
+            }
+            else if (cache.isFailed(keys[i])) {
+                failed[i] = true;
+                missing--;
+            }
+            else if (!requested[i]) {
+                requested[i] = true;
+                cache.load(images[i], keys[i], imageSize, onDecoded);
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * @return true while images are expected from the cache
+     */
+    boolean isLoading() {
+        return missing > 0;
+    }
+
+    public boolean hasImages() {
+        return imageCount > 0;
+    }
+
+    /**
+     * @return bitmap of the item, null if none or not decoded yet
+     */
+    public Bitmap get(int index) {
+        if (index >= entries.length || entries[index] == null) {
+            return null;
+        }
+
+        return entries[index].bitmap;
+    }
+
+    /**
+     * Give back every bitmap to the cache, slots are rebuilt on the next update
+     *
+     * @return true if a bitmap was held
+     */
+    public boolean release() {
+        boolean released = false;
+
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] != null) {
+                cache.release(entries[i]);
+                entries[i] = null;
+                released = true;
+            }
+        }
+
+        valid = false;
+
+        return released;
+    }
+
+    private void build(WheelModel model, WheelImageCache cache, int imageSize) {
+        int size = model.getItemSize();
+
+        this.cache = cache;
+        this.imageSize = imageSize;
+        valid = true;
+        imageCount = 0;
+
+        if (images.length != size) {
+            images = new WheelImage[size];
+            keys = new String[size];
+            entries = new WheelImageCache.Entry[size];
+            requested = new boolean[size];
+            failed = new boolean[size];
+        }
+
+        for (int i = 0; i < size; i++) {
+            Object item = model.getItem(i);
+            WheelImage image = cache != null && imageSize > 0 && item instanceof WheelImageItem
+                    ? ((WheelImageItem) item).getImage()
+                    : null;
+
+            images[i] = image;
+            requested[i] = false;
+            failed[i] = false;
+            keys[i] = image == null ? null : image.getKey() + "@" + imageSize;
+
+            if (image != null) {
+                imageCount++;
+            }
+        }
+
+        missing = imageCount;
+
+        // first scan requests every image
+        decoded.set(true);
+    }
+}
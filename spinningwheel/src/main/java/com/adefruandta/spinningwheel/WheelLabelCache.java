@@ -0,0 +1,265 @@
+package com.adefruandta.spinningwheel;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.os.Build;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+
+/**
+ * Pre-ellipsized and pre-measured label of every drawn item.
+ * An entry is built the first time its label is drawn, so labels hidden by the level of detail are never
+ * measured, and the frame cost follows the drawn labels whatever the item count.
+ * An entry is rebuilt only when its item changes, all entries are rebuilt when text size,
+ * typeface, available width or label mode changes.
+ * Items of an adapter are not compared, entries follow the ranges notified by the adapter instead.
+ */
+class WheelLabelCache {
+
+    public final static int MODE_START = 0;
+
+    public final static int MODE_CENTER = 1;
+
+    public final static int MODE_MULTI_LINE = 2;
+
+    private final TextPaint paint = new TextPaint();
+
+    private final Paint.FontMetrics fontMetrics = new Paint.FontMetrics();
+
+    // cache key
+    private float textSize = -1;
+
+    private Typeface typeface;
+
+    private float width = -1;
+
+    private int mode = -1;
+
+    private int maxLines = -1;
+
+    // entries
+    private boolean[] built = new boolean[0];
+
+    private Object[] keys = new Object[0];
+
+    private String[] texts = new String[0];
+
+    private float[] widths = new float[0];
+
+    private StaticLayout[] layouts = new StaticLayout[0];
+
+    // items compared to the keys since the last invalidation
+    private int[] checked = new int[0];
+
+    private int generation;
+
+    private WheelModel model;
+
+    // offset to center single line text on the baseline
+    private float centerOffset;
+
+    public void invalidate() {
+        textSize = -1;
+    }
+
+    // Items may have changed, every entry is compared to its item once when drawn again
+    public void invalidateItems() {
+        generation++;
+    }
+
+    /**
+     * Check the layout of the labels, entries are built or compared to their item when drawn
+     */
+    public void update(WheelModel model, Paint textPaint, float width, int mode, int maxLines) {
+        int size = model.getItemSize();
+
+        this.model = model;
+
+        if (textSize != textPaint.getTextSize() || typeface != textPaint.getTypeface()
+                || this.width != width || this.mode != mode || this.maxLines != maxLines) {
+            paint.set(textPaint);
+            paint.getFontMetrics(fontMetrics);
+            centerOffset = -(fontMetrics.ascent + fontMetrics.descent) / 2;
+
+            textSize = textPaint.getTextSize();
+            typeface = textPaint.getTypeface();
+            this.width = width;
+            this.mode = mode;
+            this.maxLines = maxLines;
+
+            clear();
+        }
+        else if (paint.getColor() != textPaint.getColor()) {
+            // color does not change the layout
+            paint.setColor(textPaint.getColor());
+        }
+
+        if (keys.length != size) {
+            resize(size);
+        }
+    }
+
+    public void onItemRangeChanged(int positionStart, int itemCount) {
+        for (int i = positionStart; i < positionStart + itemCount && i < built.length; i++) {
+            built[i] = false;
+        }
+    }
+
+    // Shift the entries after the inserted ones, they are kept
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+        if (positionStart > keys.length) {
+            clear();
+            return;
+        }
+
+        int size = keys.length + itemCount;
+        int tail = keys.length - positionStart;
+
+        built = (boolean[]) shift(built, new boolean[size], positionStart, tail, itemCount);
+        checked = (int[]) shift(checked, new int[size], positionStart, tail, itemCount);
+        keys = (Object[]) shift(keys, new Object[size], positionStart, tail, itemCount);
+        texts = (String[]) shift(texts, new String[size], positionStart, tail, itemCount);
+        widths = (float[]) shift(widths, new float[size], positionStart, tail, itemCount);
+        layouts = (StaticLayout[]) shift(layouts, new StaticLayout[size], positionStart, tail, itemCount);
+    }
+
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+        if (positionStart + itemCount > keys.length) {
+            clear();
+            return;
+        }
+
+        int size = keys.length - itemCount;
+        int tail = size - positionStart;
+
+        built = (boolean[]) shift(built, new boolean[size], positionStart, tail, -itemCount);
+        checked = (int[]) shift(checked, new int[size], positionStart, tail, -itemCount);
+        keys = (Object[]) shift(keys, new Object[size], positionStart, tail, -itemCount);
+        texts = (String[]) shift(texts, new String[size], positionStart, tail, -itemCount);
+        widths = (float[]) shift(widths, new float[size], positionStart, tail, -itemCount);
+        layouts = (StaticLayout[]) shift(layouts, new StaticLayout[size], positionStart, tail, -itemCount);
+    }
+
+    public void draw(Canvas canvas, int index, float x, float y) {
+        ensure(index);
+
+        switch (mode) {
+            case MODE_CENTER:
+                canvas.drawText(texts[index], x + (width - widths[index]) / 2, y + centerOffset, paint);
+                break;
+
+            case MODE_MULTI_LINE:
+                StaticLayout layout = layouts[index];
+                // the image of the item is drawn after the label, in the same wedge space
+                canvas.save();
+                canvas.translate(x, y - layout.getHeight() / 2f);
+                layout.draw(canvas);
+                canvas.restore();
+                break;
+
+            default:
+                canvas.drawText(texts[index], x, y, paint);
+                break;
+        }
+    }
+
+    public String getText(int index) {
+        ensure(index);
+        return texts[index];
+    }
+
+    public float getWidth(int index) {
+        ensure(index);
+        return widths[index];
+    }
+
+    // Build the entry, or compare it to its item once per invalidation
+    private void ensure(int index) {
+        if (built[index] && checked[index] == generation) {
+            return;
+        }
+
+        checked[index] = generation;
+
+        if (model.hasAdapter()) {
+            if (!built[index]) {
+                build(index, null, model.getLabel(index));
+            }
+
+            return;
+        }
+
+        Object item = model.getItem(index);
+
+        if (!built[index] || keys[index] != item) {
+            build(index, item, model.getLabel(index));
+        }
+    }
+
+    private void clear() {
+        for (int i = 0; i < keys.length; i++) {
+            built[i] = false;
+            keys[i] = null;
+            layouts[i] = null;
+        }
+    }
+
+    // Copy head and tail of the entries, tail moved by offset
+    private static Object shift(Object from, Object to, int head, int tail, int offset) {
+        System.arraycopy(from, 0, to, 0, head);
+        System.arraycopy(from, offset > 0 ? head : head - offset, to, offset > 0 ? head + offset : head, tail);
+        return to;
+    }
+
+    private void resize(int size) {
+        built = new boolean[size];
+        checked = new int[size];
+        keys = new Object[size];
+        texts = new String[size];
+        widths = new float[size];
+        layouts = new StaticLayout[size];
+    }
+
+    private void build(int index, Object item, String text) {
+        if (text == null) {
+            text = "null";
+        }
+
+        if (mode == MODE_MULTI_LINE) {
+            layouts[index] = buildLayout(text);
+        }
+        else {
+            // ellipsize only when needed, it is expensive
+            if (paint.measureText(text) > width) {
+                text = TextUtils.ellipsize(text, paint, width, TextUtils.TruncateAt.END).toString();
+            }
+
+            texts[index] = text;
+            widths[index] = paint.measureText(text);
+        }
+
+        built[index] = true;
+        keys[index] = item;
+    }
+
+    private StaticLayout buildLayout(String text) {
+        int layoutWidth = Math.max(0, (int) width);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return StaticLayout.Builder
+                    .obtain(text, 0, text.length(), paint, layoutWidth)
+                    .setAlignment(Layout.Alignment.ALIGN_CENTER)
+                    .setMaxLines(maxLines)
+                    .setEllipsize(TextUtils.TruncateAt.END)
+                    .setIncludePad(false)
+                    .build();
+        }
+
+        // max lines is not supported before M, ellipsize the text to the lines space instead
+        CharSequence ellipsized = TextUtils.ellipsize(text, paint, width * maxLines, TextUtils.TruncateAt.END);
+        return new StaticLayout(ellipsized, paint, layoutWidth, Layout.Alignment.ALIGN_CENTER, 1f, 0f, false);
+    }
+}
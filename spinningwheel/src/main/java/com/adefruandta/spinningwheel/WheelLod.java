@@ -0,0 +1,185 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Level of detail of a wheel with a lot of items.
+ * Consecutive wedges thinner than the min wedge size are merged into one arc, and labels are
+ * decimated so two visible labels are never closer than the min label angle.
+ * Built once per items / size change, so the draw cost depend on the pixels and not on the items.
+ */
+class WheelLod {
+
+    private final static float ANGLE = 360f;
+
+    // merged wedges
+    private float[] runStarts = new float[0];
+
+    private float[] runSweeps = new float[0];
+
+    private int[] runItems = new int[0];
+
+    private int runCount;
+
+    // visible labels, sorted by angle
+    private float[] labelAngles = new float[0];
+
+    private int[] labelItems = new int[0];
+
+    private int labelCount;
+
+    private boolean dirty = true;
+
+    private float minWedgeAngle = -1;
+
+    private float minLabelAngle = -1;
+
+    public void invalidate() {
+        dirty = true;
+    }
+
+    public boolean isValid(float minWedgeAngle, float minLabelAngle) {
+        return !dirty && this.minWedgeAngle == minWedgeAngle && this.minLabelAngle == minLabelAngle;
+    }
+
+    /**
+     * @param minWedgeAngle: smallest angle drawn as its own wedge
+     * @param minLabelAngle: smallest angle between two visible labels
+     */
+    public void build(WheelAngleTable table, float minWedgeAngle, float minLabelAngle) {
+        int size = table.size();
+
+        if (runItems.length < size) {
+            runStarts = new float[size];
+            runSweeps = new float[size];
+            runItems = new int[size];
+            labelAngles = new float[size];
+            labelItems = new int[size];
+        }
+
+        buildRuns(table, size, minWedgeAngle);
+        buildLabels(table, size, minLabelAngle);
+
+        this.minWedgeAngle = minWedgeAngle;
+        this.minLabelAngle = minLabelAngle;
+        dirty = false;
+    }
+
+    public int getRunCount() {
+        return runCount;
+    }
+
+    public float getRunStart(int run) {
+        return runStarts[run];
+    }
+
+    public float getRunSweep(int run) {
+        return runSweeps[run];
+    }
+
+    // Item which give the color of the run
+    public int getRunItem(int run) {
+        return runItems[run];
+    }
+
+    public int getLabelCount() {
+        return labelCount;
+    }
+
+    public float getLabelAngle(int label) {
+        return labelAngles[label];
+    }
+
+    public int getLabelItem(int label) {
+        return labelItems[label];
+    }
+
+    /**
+     * @return run containing the angle
+     */
+    public int findRun(float angle) {
+        return findLast(runStarts, runCount, angle);
+    }
+
+    /**
+     * @return last label before the angle, or the last label when angle is before every label
+     */
+    public int findLabel(float angle) {
+        return findLast(labelAngles, labelCount, angle);
+    }
+
+    private void buildRuns(WheelAngleTable table, int size, float minWedgeAngle) {
+        runCount = 0;
+
+        int i = 0;
+        while (i < size) {
+            int item = i;
+            float start = table.getStart(i);
+            float sweep = table.getSweep(i++);
+
+            // merge thin wedges until the run is big enough to be seen, a wide wedge keeps its own run
+            while (sweep < minWedgeAngle && i < size && table.getSweep(i) < minWedgeAngle) {
+                sweep += table.getSweep(i++);
+            }
+
+            if (sweep <= 0) {
+                continue;
+            }
+
+            runStarts[runCount] = start;
+            runSweeps[runCount] = sweep;
+            runItems[runCount] = item;
+            runCount++;
+        }
+    }
+
+    private void buildLabels(WheelAngleTable table, int size, float minLabelAngle) {
+        labelCount = 0;
+
+        float last = -ANGLE;
+        for (int i = 0; i < size; i++) {
+            float sweep = table.getSweep(i);
+            float center = table.getStart(i) + sweep / 2;
+
+            if (sweep <= 0 || center - last < minLabelAngle) {
+                continue;
+            }
+
+            labelAngles[labelCount] = center;
+            labelItems[labelCount] = i;
+            labelCount++;
+
+            last = center;
+        }
+
+        // last label must not overlap the first one
+        if (labelCount > 1 && labelAngles[0] + ANGLE - labelAngles[labelCount - 1] < minLabelAngle) {
+            labelCount--;
+        }
+    }
+
+    // last index with values[index] <= value, wrap to the last index
+    private static int findLast(float[] values, int count, float value) {
+        int low = 0;
+        int high = count - 1;
+
+        if (count == 0) {
+            return -1;
+        }
+
+        if (value < values[0]) {
+            return high;
+        }
+
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+
+            if (values[mid] <= value) {
+                low = mid;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+
+        return low;
+    }
+}
@@ -0,0 +1,85 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Aggregate wheel measures into fixed size histograms, nothing is allocated after construction.
+ * Read it periodically, e.g. to report p50 / p95 frame time to analytics, then {@link #reset()}.
+ * Not synchronized, values read from another thread may be slightly behind.
+ */
+public class WheelMetrics implements WheelMetricsListener {
+
+    private final TimeHistogram drawTimes = new TimeHistogram();
+
+    private final TimeHistogram touchTimes = new TimeHistogram();
+
+    private final TimeHistogram spinStartLatencies = new TimeHistogram();
+
+    private final TimeHistogram spinFrameIntervals = new TimeHistogram();
+
+    private long missedFrameCount;
+
+    @Override
+    public void onDraw(long durationNanos) {
+        drawTimes.record(durationNanos);
+    }
+
+    @Override
+    public void onTouchEvent(long durationNanos) {
+        touchTimes.record(durationNanos);
+    }
+
+    @Override
+    public void onSpinStart(long latencyNanos) {
+        spinStartLatencies.record(latencyNanos);
+    }
+
+    @Override
+    public void onSpinFrame(long intervalNanos, int missedFrames) {
+        spinFrameIntervals.record(intervalNanos);
+        missedFrameCount += missedFrames;
+    }
+
+    /**
+     * @param percentile: between 0 and 100, e.g. 95
+     * @return draw duration in nanos, with a precision of 0.1 ms
+     */
+    public long getDrawTime(float percentile) {
+        return drawTimes.getPercentile(percentile);
+    }
+
+    public long getTouchTime(float percentile) {
+        return touchTimes.getPercentile(percentile);
+    }
+
+    public long getSpinStartLatency(float percentile) {
+        return spinStartLatencies.getPercentile(percentile);
+    }
+
+    public long getSpinFrameInterval(float percentile) {
+        return spinFrameIntervals.getPercentile(percentile);
+    }
+
+    public long getDrawCount() {
+        return drawTimes.getCount();
+    }
+
+    public long getSpinCount() {
+        return spinStartLatencies.getCount();
+    }
+
+    public long getSpinFrameCount() {
+        return spinFrameIntervals.getCount();
+    }
+
+    // display frames skipped while spinning
+    public long getMissedFrameCount() {
+        return missedFrameCount;
+    }
+
+    public void reset() {
+        drawTimes.reset();
+        touchTimes.reset();
+        spinStartLatencies.reset();
+        spinFrameIntervals.reset();
+        missedFrameCount = 0;
+    }
+}
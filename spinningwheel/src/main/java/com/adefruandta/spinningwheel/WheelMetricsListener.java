@@ -0,0 +1,20 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Performance measures of a wheel view, see {@link WheelMetrics} for an aggregating implementation.
+ * Called on the thread which draws or touches the wheel, must be fast and must not allocate.
+ */
+public interface WheelMetricsListener {
+
+    // time spent to draw one frame of the wheel
+    void onDraw(long durationNanos);
+
+    // time spent to handle one touch event
+    void onTouchEvent(long durationNanos);
+
+    // time from the start of a spin (rotate, spinTo or fling) to its first drawn frame
+    void onSpinStart(long latencyNanos);
+
+    // frame of a running spin, missedFrames is the count of display frames skipped since the previous one
+    void onSpinFrame(long intervalNanos, int missedFrames);
+}
@@ -0,0 +1,526 @@
+package com.adefruandta.spinningwheel;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Headless state of a wheel: items, weights, angle, selection and spin physics.
+ * Pure java without android dependency, can be used on any thread and in plain JVM tests,
+ * e.g. to precompute the outcome of a spin on a worker thread.
+ * Not synchronized, use one thread at a time.
+ * A model can be shared by several {@link SpinningWheelView}, the math is done once per frame.
+ * A view reads its model while drawing on the main thread: once attached to a view, change the model
+ * on the main thread, or through the view commands like {@link SpinningWheelView#rotate(float)} which are
+ * callable from any thread. Changes from another thread are not synchronized with drawing,
+ * the view only receives their callbacks on the main thread on the next frame.
+ */
+public class WheelModel {
+
+    final static float ANGLE = 360f;
+
+    // Arrow is on the top of the wheel
+    final static float POINTER_ANGLE = 270f;
+
+    // Keep a margin from the wedge edges, absorb float rounding of the accumulated angle
+    private final static float MAX_WEDGE_JITTER = 0.9f;
+
+    private List items;
+
+    private float[] itemWeights;
+
+    private WheelAdapter adapter;
+
+    private final WheelAdapter.Observer adapterObserver = new WheelAdapter.Observer() {
+        @Override
+        public void onChanged() {
+            updateAdapterTable();
+            dispatchItemsChanged();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            updateAdapterTable();
+
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).onItemRangeChanged(WheelModel.this, positionStart, itemCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            updateAdapterTable();
+
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).onItemRangeInserted(WheelModel.this, positionStart, itemCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            updateAdapterTable();
+
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).onItemRangeRemoved(WheelModel.this, positionStart, itemCount);
+            }
+        }
+    };
+
+    private final WheelAngleTable angleTable = new WheelAngleTable();
+
+    private float angle;
+
+    private final WheelSpin spin = new WheelSpin();
+
+    private long lastUpdateTime = -1;
+
+    private float wedgeJitter;
+
+    // null for the legacy curves
+    private WheelEasing easing;
+
+    private Random random = new Random();
+
+    private final List<OnChangeListener> listeners = new ArrayList<>();
+
+    private final List<OnTickListener> tickListeners = new ArrayList<>();
+
+    // region items
+
+    public List getItems() {
+        return items;
+    }
+
+    public void setItems(List items) {
+        setItems(items, null);
+    }
+
+    /**
+     * @param items:   items of the wheel
+     * @param weights: weight of every item, same length as items, null for equal wedges
+     */
+    public void setItems(List items, float[] weights) {
+        angleTable.set(items == null ? 0 : items.size(), weights);
+
+        setAdapterInternal(null);
+
+        this.items = items;
+        this.itemWeights = weights;
+
+        dispatchItemsChanged();
+    }
+
+    public float[] getItemWeights() {
+        return itemWeights;
+    }
+
+    public WheelAdapter getAdapter() {
+        return adapter;
+    }
+
+    /**
+     * Take items, labels and weights from the adapter, replace {@link #setItems(List)}
+     * Only the ranges notified by the adapter are recomputed by the views.
+     *
+     * @param adapter: null to remove every item
+     */
+    public void setAdapter(WheelAdapter adapter) {
+        setAdapterInternal(adapter);
+
+        if (adapter == null) {
+            items = null;
+            itemWeights = null;
+            angleTable.set(0, null);
+        }
+        else {
+            items = new AdapterList(adapter);
+            itemWeights = null;
+            updateAdapterTable();
+        }
+
+        dispatchItemsChanged();
+    }
+
+    boolean hasAdapter() {
+        return adapter != null;
+    }
+
+    /**
+     * @return text drawn on the wedge of the item
+     */
+    public String getLabel(int index) {
+        if (adapter != null) {
+            return adapter.getLabel(index);
+        }
+
+        return String.valueOf(items.get(index));
+    }
+
+    public int getItemSize() {
+        return items == null ? 0 : items.size();
+    }
+
+    public boolean hasData() {
+        return items != null && !items.isEmpty();
+    }
+
+    public <T> T getItem(int index) {
+        return (T) items.get(index);
+    }
+
+    // endregion
+
+    // region angle
+
+    public float getAngle() {
+        return angle;
+    }
+
+    /**
+     * Rotate without animation
+     */
+    public void rotate(float angle) {
+        float pointerAngle = POINTER_ANGLE - this.angle;
+
+        // angle mod 360 prevent to big angle, and overflow float
+        this.angle += angle;
+        this.angle %= ANGLE;
+
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onRotate(this, angle);
+        }
+
+        if (!tickListeners.isEmpty() && hasData()) {
+            notifyTick(getAngleTable().countBoundaries(pointerAngle, pointerAngle - angle));
+        }
+    }
+
+    /**
+     * @return index of item under the arrow, -1 if wheel has no item
+     */
+    public int getSelectedIndex() {
+        return getIndexAt(angle);
+    }
+
+    /**
+     * @param angle: angle of the wheel
+     * @return index of item under the arrow when the wheel is at the angle, -1 if wheel has no item
+     */
+    public int getIndexAt(float angle) {
+        if (!hasData()) {
+            return -1;
+        }
+
+        return getAngleTable().indexOf(normalizeAngle(POINTER_ANGLE - angle));
+    }
+
+    // Angle of the arrow relative to the start of first item
+    float getPointerAngle() {
+        return normalizeAngle(POINTER_ANGLE - angle);
+    }
+
+    private void setAdapterInternal(WheelAdapter adapter) {
+        if (this.adapter != null) {
+            this.adapter.unregisterObserver(adapterObserver);
+        }
+
+        this.adapter = adapter;
+
+        if (adapter != null) {
+            adapter.registerObserver(adapterObserver);
+        }
+    }
+
+    // Weights are kept null when every wedge has the same size
+    private void updateAdapterTable() {
+        int size = adapter.getCount();
+        float[] weights = itemWeights != null && itemWeights.length == size ? itemWeights : new float[size];
+        boolean weighted = false;
+
+        for (int i = 0; i < size; i++) {
+            weights[i] = adapter.getWeight(i);
+            weighted |= weights[i] != 1;
+        }
+
+        itemWeights = weighted ? weights : null;
+        angleTable.set(size, itemWeights);
+    }
+
+    /**
+     * Call after modifying the list returned by {@link #getItems()}, wedges and labels are rebuilt
+     * Not needed with {@link #setItems(List)} or an adapter.
+     */
+    public void notifyItemsChanged() {
+        updateTable();
+        dispatchItemsChanged();
+    }
+
+    // Keep the table in range when the items list has been modified outside,
+    // silent as it is reached from draw, views check the item count themselves
+    WheelAngleTable getAngleTable() {
+        if (angleTable.size() != getItemSize()) {
+            updateTable();
+        }
+
+        return angleTable;
+    }
+
+    private void updateTable() {
+        if (adapter != null) {
+            updateAdapterTable();
+            return;
+        }
+
+        float[] weights = itemWeights != null && itemWeights.length == getItemSize() ? itemWeights : null;
+        angleTable.set(getItemSize(), weights);
+    }
+
+    // endregion
+
+    // region spin
+
+    public float getWedgeJitter() {
+        return wedgeJitter;
+    }
+
+    /**
+     * Randomness of the stop position inside the wedge for {@link #spinTo(int, int, long)}
+     *
+     * @param wedgeJitter: 0 always stop on the wedge center, 1 stop anywhere in the wedge
+     */
+    public void setWedgeJitter(float wedgeJitter) {
+        this.wedgeJitter = Math.max(0, Math.min(wedgeJitter, 1));
+    }
+
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    public WheelEasing getEasing() {
+        return easing;
+    }
+
+    /**
+     * Slow down profile of the next spins, a fling keeps its friction
+     *
+     * @param easing: null for the legacy curves
+     */
+    public void setEasing(WheelEasing easing) {
+        this.easing = easing;
+    }
+
+    /**
+     * Start spin with the legacy curve, see {@link SpinningWheelView#rotate(float, long, long)}
+     */
+    public void spin(float maxAngle, long duration, long interval) {
+        spin(createRotation(maxAngle, duration, interval));
+    }
+
+    /**
+     * Start spin which stop on the given item, see {@link SpinningWheelView#spinTo(int, int, long)}
+     */
+    public void spinTo(int index, int revolutions, long duration) {
+        spin(createTargetRotation(getDistanceTo(index, revolutions), duration));
+    }
+
+    // Legacy distance, eased when an easing is set
+    SpinCurve createRotation(float maxAngle, long duration, long interval) {
+        WheelRotation rotation = WheelRotation
+                .init(duration, interval)
+                .setMaxAngle(maxAngle);
+
+        return easing == null ? rotation : new EasedRotation(rotation.getAngle(duration), duration, easing);
+    }
+
+    SpinCurve createTargetRotation(float distance, long duration) {
+        return easing == null ? new TargetRotation(distance, duration) : new EasedRotation(distance, duration, easing);
+    }
+
+    /**
+     * @return angle to rotate from current angle to stop inside the item wedge
+     */
+    public float getDistanceTo(int index, int revolutions) {
+        if (index < 0 || index >= getItemSize()) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + ", size is " + getItemSize());
+        }
+
+        // position inside the wedge, 0.5 is the center
+        float offset = 0.5f + (random.nextFloat() - 0.5f) * wedgeJitter * MAX_WEDGE_JITTER;
+
+        // wheel angle which put the arrow on the offset of the item
+        WheelAngleTable angleTable = getAngleTable();
+        float targetAngle = POINTER_ANGLE - (angleTable.getStart(index) + offset * angleTable.getSweep(index));
+
+        return normalizeAngle(targetAngle - angle) + ANGLE * Math.max(0, revolutions);
+    }
+
+    void spin(SpinCurve curve) {
+        spin.start(curve);
+        lastUpdateTime = -1;
+    }
+
+    public void cancelSpin() {
+        spin.cancel();
+    }
+
+    /**
+     * Jump to the end of the running spin, e.g. when the wheel is not visible anymore
+     */
+    public void finishSpin() {
+        if (!spin.isRunning()) {
+            return;
+        }
+
+        float remaining = spin.getRemainingAngle();
+        spin.cancel();
+        rotate(remaining);
+
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onSpinStop(this);
+        }
+    }
+
+    public boolean isSpinning() {
+        return spin.isRunning();
+    }
+
+    /**
+     * @return angle where the running spin will stop, current angle if not spinning
+     */
+    public float getStopAngle() {
+        return angle + spin.getRemainingAngle();
+    }
+
+    /**
+     * @return index where the running spin will stop, current selection if not spinning
+     */
+    public int getStopIndex() {
+        return getIndexAt(getStopAngle());
+    }
+
+    /**
+     * Advance the running spin, several calls with the same time compute the spin only once
+     *
+     * @param timeNanos: current time in nanos, e.g. display frame time
+     * @return true if still spinning
+     */
+    public boolean update(long timeNanos) {
+        if (!spin.isRunning() || timeNanos == lastUpdateTime) {
+            return spin.isRunning();
+        }
+
+        lastUpdateTime = timeNanos;
+
+        rotate(spin.update(timeNanos));
+
+        if (!spin.isRunning()) {
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).onSpinStop(this);
+            }
+        }
+
+        return spin.isRunning();
+    }
+
+    // endregion
+
+    // region listener
+
+    public void addOnChangeListener(OnChangeListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeOnChangeListener(OnChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Listen to the wedge boundaries passing the arrow, e.g. to play a tick sound
+     */
+    public void addOnTickListener(OnTickListener listener) {
+        if (!tickListeners.contains(listener)) {
+            tickListeners.add(listener);
+        }
+    }
+
+    public void removeOnTickListener(OnTickListener listener) {
+        tickListeners.remove(listener);
+    }
+
+    private void notifyTick(int crossings) {
+        if (crossings == 0) {
+            return;
+        }
+
+        for (int i = 0; i < tickListeners.size(); i++) {
+            tickListeners.get(i).onTick(this, crossings);
+        }
+    }
+
+    private void dispatchItemsChanged() {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onItemsChanged(this);
+        }
+    }
+
+    // endregion
+
+    // Angle between 0 and 360
+    static float normalizeAngle(float angle) {
+        angle %= ANGLE;
+        return angle < 0 ? angle + ANGLE : angle;
+    }
+
+    // Read only list view of the adapter items
+    private static class AdapterList extends AbstractList<Object> {
+
+        private final WheelAdapter adapter;
+
+        AdapterList(WheelAdapter adapter) {
+            this.adapter = adapter;
+        }
+
+        @Override
+        public Object get(int index) {
+            return adapter.getItem(index);
+        }
+
+        @Override
+        public int size() {
+            return adapter.getCount();
+        }
+    }
+
+    public interface OnChangeListener {
+
+        // angle rotated since the previous call
+        void onRotate(WheelModel model, float angle);
+
+        // every item may have changed
+        void onItemsChanged(WheelModel model);
+
+        // items from positionStart changed their content, only with an adapter
+        void onItemRangeChanged(WheelModel model, int positionStart, int itemCount);
+
+        // items inserted at positionStart, only with an adapter
+        void onItemRangeInserted(WheelModel model, int positionStart, int itemCount);
+
+        // items removed from positionStart, only with an adapter
+        void onItemRangeRemoved(WheelModel model, int positionStart, int itemCount);
+
+        void onSpinStop(WheelModel model);
+    }
+
+    public interface OnTickListener {
+
+        /**
+         * Called once per rotation, a spin rotates once per frame
+         *
+         * @param crossings: wedge boundaries passed the arrow during the rotation, at least 1
+         */
+        void onTick(WheelModel model, int crossings);
+    }
+}
@@ -0,0 +1,625 @@
+package com.adefruandta.spinningwheel;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.os.SystemClock;
+
+import java.util.Arrays;
+
+/**
+ * Draw a {@link WheelModel} with a {@link WheelStyle} on any canvas.
+ * Shared by {@link SpinningWheelView} on the main thread and {@link SpinningWheelTextureView}
+ * on its render thread. Not synchronized, use it from one thread only.
+ */
+class WheelRenderer {
+
+    private final static float ANGLE = WheelModel.ANGLE;
+
+    // Space between two visible labels, relative to text size
+    private final static float LABEL_SPACING = 1.2f;
+
+    // Labels must not overlap up to this part of the radius
+    private final static float LABEL_RADIUS = 0.5f;
+
+    // Distance of the image center from the wheel center, relative to radius
+    private final static float IMAGE_RADIUS = 0.6f;
+
+    // Max image size, relative to radius
+    private final static float IMAGE_SIZE = 0.3f;
+
+    // Image sizes are rounded down to a multiple of it, so close sizes share the cached bitmaps
+    private final static int IMAGE_SIZE_STEP = 8;
+
+    private final WheelStyle style = new WheelStyle();
+
+    private WheelModel model;
+
+    // angle table of the frame, the model table or the animated one
+    private WheelAngleTable table;
+
+    // item count of the previous frame, the items list can be modified outside of the model
+    private int itemCount = -1;
+
+    private int width;
+
+    private int height;
+
+    private final Circle circle = new Circle();
+
+    // radius of the hole of a ring, 0 for a full wheel
+    private float innerRadius;
+
+    private float wheelStrokeRadius = 1;
+
+    private final Paint textPaint;
+
+    private final Paint strokePaint;
+
+    private final Paint trianglePaint;
+
+    private final Paint itemPaint;
+
+    private WheelCache wheelCache;
+
+    // render cache shared with the wheels drawing the same layer, instead of wheelCache
+    private WheelResources.CacheEntry sharedCache;
+
+    // Scratch state, reused on every frame to keep draw allocation free
+
+    private final Paint circlePaint = new Paint();
+
+    private final RectF wheelRect = new RectF();
+
+    private final Path trianglePath = new Path();
+
+    private final WheelLabelCache labelCache = new WheelLabelCache();
+
+    private final WheelLod lod = new WheelLod();
+
+    private final Circle zoomCircle = new Circle();
+
+    private final WheelResizeAnimation resizeAnimation = new WheelResizeAnimation();
+
+    private final WheelImageSlots imageSlots = new WheelImageSlots();
+
+    private final Paint imagePaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+    private Runnable imageCallback;
+
+    public WheelRenderer() {
+        textPaint = new Paint();
+        textPaint.setStyle(Paint.Style.FILL);
+
+        strokePaint = new Paint();
+        strokePaint.setStyle(Paint.Style.STROKE);
+        strokePaint.setStrokeCap(Paint.Cap.ROUND);
+
+        trianglePaint = new Paint();
+        trianglePaint.setStyle(Paint.Style.FILL_AND_STROKE);
+        trianglePaint.setAntiAlias(true);
+
+        itemPaint = new Paint();
+        itemPaint.setStyle(Paint.Style.FILL);
+
+        updatePaints();
+    }
+
+    /**
+     * Copy the style, the render cache is rebuilt only when something it contains changed
+     */
+    public void setStyle(WheelStyle style) {
+        if (!isLayerEqual(this.style, style)) {
+            invalidateWheelCache();
+        }
+
+        this.style.set(style);
+        updatePaints();
+
+        resizeAnimation.setDuration(style.getWedgeAnimationDuration());
+
+        if (style.isRenderCacheEnabled() && wheelCache == null) {
+            wheelCache = new WheelCache();
+        }
+        else if (!style.isRenderCacheEnabled() && wheelCache != null) {
+            wheelCache.release();
+            wheelCache = null;
+        }
+    }
+
+    public void setSize(int width, int height) {
+        if (this.width == width && this.height == height) {
+            return;
+        }
+
+        this.width = width;
+        this.height = height;
+
+        circle.set(width, height);
+        invalidateWheelCache();
+    }
+
+    public Circle getCircle() {
+        return circle;
+    }
+
+    public float getInnerRadius() {
+        return innerRadius;
+    }
+
+    /**
+     * Draw a ring around a hole instead of a full wheel, see {@link MultiRingWheelView}
+     * Wedges and background are only filled between both radiuses, nothing is drawn in the hole.
+     *
+     * @param innerRadius: radius of the hole in pixel, 0 for a full wheel
+     */
+    public void setInnerRadius(float innerRadius) {
+        if (this.innerRadius == innerRadius) {
+            return;
+        }
+
+        this.innerRadius = innerRadius;
+        lod.invalidate();
+        invalidateWheelCache();
+    }
+
+    /**
+     * @param imageCallback: called on a background thread when an image is ready, the wheel must be drawn again
+     */
+    public void setImageCallback(Runnable imageCallback) {
+        this.imageCallback = imageCallback;
+    }
+
+    // Items of the model changed
+    public void invalidate() {
+        resizeAnimation.stop();
+        imageSlots.invalidate();
+        labelCache.invalidate();
+        lod.invalidate();
+        invalidateWheelCache();
+    }
+
+    // Items of the model changed, labels are compared item by item
+    public void invalidateWedges() {
+        resizeAnimation.stop();
+        imageSlots.invalidate();
+        labelCache.invalidateItems();
+        lod.invalidate();
+        invalidateWheelCache();
+    }
+
+    // Only the labels of the range are rebuilt, wedges are rebuilt from the angle table of the model
+
+    public void onItemRangeChanged(int positionStart, int itemCount) {
+        resizeAnimation.onItemRangeChanged(positionStart, itemCount);
+        imageSlots.invalidate();
+        labelCache.onItemRangeChanged(positionStart, itemCount);
+        lod.invalidate();
+        invalidateWheelCache();
+    }
+
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+        resizeAnimation.onItemRangeInserted(positionStart, itemCount);
+        imageSlots.invalidate();
+        labelCache.onItemRangeInserted(positionStart, itemCount);
+        lod.invalidate();
+        invalidateWheelCache();
+    }
+
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+        resizeAnimation.onItemRangeRemoved(positionStart, itemCount);
+        imageSlots.invalidate();
+        labelCache.onItemRangeRemoved(positionStart, itemCount);
+        lod.invalidate();
+        invalidateWheelCache();
+    }
+
+    /**
+     * @return true while wedges are resizing, the next frame must be drawn
+     */
+    public boolean isAnimating() {
+        return resizeAnimation.isRunning();
+    }
+
+    public void release() {
+        imageSlots.release();
+        releaseSharedCache();
+
+        if (wheelCache != null) {
+            wheelCache.release();
+        }
+    }
+
+    public void draw(Canvas canvas, WheelModel model) {
+        drawWheel(canvas, model);
+        drawArrow(canvas);
+    }
+
+    // Wheel only, the arrow of a ring is drawn once by the outer ring
+    public void drawWheel(Canvas canvas, WheelModel model) {
+        this.model = model;
+
+        boolean animating = resizeAnimation.isRunning();
+        table = resizeAnimation.getTable(model.getAngleTable(), SystemClock.uptimeMillis());
+
+        if (animating || itemCount != model.getItemSize()) {
+            itemCount = model.getItemSize();
+            lod.invalidate();
+            invalidateWheelCache();
+        }
+
+        // picks up the decoded images only, never decode here
+        if (imageSlots.update(model, style.getImageCache(), getImageSize(), imageCallback)) {
+            invalidateWheelCache();
+        }
+
+        if (isZoomed()) {
+            drawZoomedWheel(canvas);
+        }
+        else if (wheelCache != null) {
+            drawWheelCache(canvas);
+        }
+        else {
+            canvas.save();
+            canvas.rotate(model.getAngle(), circle.getCx(), circle.getCy());
+            drawWheelLayer(canvas, circle, 0, ANGLE);
+            canvas.restore();
+        }
+    }
+
+    public void drawArrow(Canvas canvas) {
+        drawTriangle(canvas);
+    }
+
+    private void updatePaints() {
+        textPaint.setColor(style.getTextColor());
+        textPaint.setTextSize(style.getTextSize());
+        textPaint.setTypeface(style.getTypeface());
+
+        strokePaint.setColor(style.getStrokeColor());
+        strokePaint.setStrokeWidth(style.getStrokeWidth());
+
+        trianglePaint.setColor(style.getArrowColor());
+
+        wheelStrokeRadius = style.getStrokeWidth() / 2;
+        wheelStrokeRadius = wheelStrokeRadius == 0 ? 1 : wheelStrokeRadius;
+    }
+
+    // Arrow and zoom are not part of the render cache
+    private static boolean isLayerEqual(WheelStyle a, WheelStyle b) {
+        return Arrays.equals(a.getColors(), b.getColors())
+                && a.getStrokeColor() == b.getStrokeColor()
+                && a.getStrokeWidth() == b.getStrokeWidth()
+                && a.getTextColor() == b.getTextColor()
+                && a.getTextSize() == b.getTextSize()
+                && a.getTypeface() == b.getTypeface()
+                && a.getLabelMode() == b.getLabelMode()
+                && a.getLabelMaxLines() == b.getLabelMaxLines()
+                && a.isScalableEnabled() == b.isScalableEnabled()
+                && a.getMinWedgeSize() == b.getMinWedgeSize()
+                && a.getImageCache() == b.getImageCache()
+                && a.isSharedRenderCacheEnabled() == b.isSharedRenderCacheEnabled();
+    }
+
+    private void invalidateWheelCache() {
+        if (wheelCache != null) {
+            wheelCache.invalidate();
+        }
+
+        releaseSharedCache();
+    }
+
+    private void releaseSharedCache() {
+        if (sharedCache != null) {
+            WheelResources.getInstance().releaseCache(sharedCache);
+            sharedCache = null;
+        }
+    }
+
+    // Images are loaded and wedges resized per wheel, such layers are not shared
+    private boolean canShareWheelCache() {
+        return style.isSharedRenderCacheEnabled() && !imageSlots.hasImages() && !resizeAnimation.isRunning()
+                && width > 0 && height > 0 && innerRadius == 0;
+    }
+
+    // Take the layer of another wheel, or draw and share it
+    private WheelResources.CacheEntry acquireSharedCache() {
+        WheelResources resources = WheelResources.getInstance();
+        WheelCacheKey key = new WheelCacheKey(style, width, height, model, table);
+        WheelResources.CacheEntry entry = resources.acquireCache(key);
+
+        if (entry != null) {
+            return entry;
+        }
+
+        WheelCache cache = new WheelCache();
+        drawWheelLayer(cache.begin(width, height), circle, 0, ANGLE);
+        cache.end();
+
+        return resources.putCache(key, cache, width * height * 4);
+    }
+
+    private void drawWheelCache(Canvas canvas) {
+        if (sharedCache == null && canShareWheelCache()) {
+            sharedCache = acquireSharedCache();
+        }
+
+        if (sharedCache != null) {
+            sharedCache.cache.draw(canvas, model.getAngle(), circle.getCx(), circle.getCy());
+            return;
+        }
+
+        if (!wheelCache.isValid(width, height)) {
+            Canvas cacheCanvas = wheelCache.begin(width, height);
+
+            if (cacheCanvas == null) {
+                return;
+            }
+
+            drawWheelLayer(cacheCanvas, circle, 0, ANGLE);
+            wheelCache.end();
+        }
+
+        wheelCache.draw(canvas, model.getAngle(), circle.getCx(), circle.getCy());
+    }
+
+    // A ring is never zoomed, it would cover the other rings
+    private boolean isZoomed() {
+        return style.isScalableEnabled() && style.getZoom() > 1 && innerRadius == 0;
+    }
+
+    private void drawZoomedWheel(Canvas canvas) {
+        float radius = circle.getRadius() * style.getZoom();
+        float cx = circle.getCx();
+        // keep the top of the wheel under the arrow
+        float cy = circle.getCy() - circle.getRadius() + radius;
+        zoomCircle.set(cx, cy, radius);
+
+        float visibleAngle = getVisibleAngle(zoomCircle);
+
+        canvas.save();
+        canvas.rotate(model.getAngle(), cx, cy);
+        drawWheelLayer(canvas, zoomCircle, model.getPointerAngle() - visibleAngle, visibleAngle * 2);
+        canvas.restore();
+    }
+
+    // Half angle around the arrow where the wheel is inside the view
+    private float getVisibleAngle(Circle wheel) {
+        float cx = wheel.getCx();
+        float cy = wheel.getCy();
+
+        if (cx >= 0 && cx <= width && cy >= 0 && cy <= height) {
+            return ANGLE / 2;
+        }
+
+        // the farthest corner from the arrow direction
+        float angle = Math.max(getAngleFromTop(0 - cx, 0 - cy), getAngleFromTop(width - cx, 0 - cy));
+        angle = Math.max(angle, getAngleFromTop(0 - cx, height - cy));
+        angle = Math.max(angle, getAngleFromTop(width - cx, height - cy));
+        return angle;
+    }
+
+    private float getAngleFromTop(float dx, float dy) {
+        return Math.abs((float) Math.toDegrees(Math.atan2(dx, -dy)));
+    }
+
+    // Draw wheel without rotation, rotation handled by caller
+    // Only items between from and from + span (relative to the first item) are drawn in scalable mode
+    private void drawWheelLayer(Canvas canvas, Circle wheel, float from, float span) {
+        from = WheelModel.normalizeAngle(from);
+
+        drawCircle(canvas, wheel);
+
+        drawWheel(canvas, wheel, from, span);
+
+        drawWheelItems(canvas, wheel, from, span);
+    }
+
+    private void drawCircle(Canvas canvas, Circle wheel) {
+        if (innerRadius > 0) {
+            // band between both radiuses, the hole is left to the inner rings
+            circlePaint.setStyle(Paint.Style.STROKE);
+            circlePaint.setStrokeWidth(wheel.getRadius() - innerRadius);
+            canvas.drawCircle(wheel.getCx(), wheel.getCy(), (wheel.getRadius() + innerRadius) / 2, circlePaint);
+        }
+        else {
+            circlePaint.setStyle(Paint.Style.FILL);
+            canvas.drawCircle(wheel.getCx(), wheel.getCy(), wheel.getRadius(), circlePaint);
+        }
+
+        drawCircleStroke(canvas, wheel);
+    }
+
+    private void drawCircleStroke(Canvas canvas, Circle wheel) {
+        canvas.drawCircle(wheel.getCx(), wheel.getCy(), wheel.getRadius() - wheelStrokeRadius, strokePaint);
+    }
+
+    private void drawWheel(Canvas canvas, Circle wheel, float from, float span) {
+        if (!model.hasData()) {
+            return;
+        }
+
+        // Prepare Point
+        float cx = wheel.getCx();
+        float cy = wheel.getCy();
+        float radius = wheel.getRadius();
+        float left = cx - radius + (wheelStrokeRadius * 2);
+        float top = cy - radius + (wheelStrokeRadius * 2);
+        float right = cx + radius - (wheelStrokeRadius * 2);
+        float bottom = cy + radius - (wheelStrokeRadius * 2);
+
+        // Prepare Pie
+        RectF rectF = wheelRect;
+        rectF.set(left, top, right, bottom);
+
+        // a ring draws its wedges as thick arcs, so no pixel of the hole is filled
+        boolean ring = innerRadius > 0;
+        Paint.Style itemStyle = ring ? Paint.Style.STROKE : Paint.Style.FILL;
+
+        if (ring) {
+            float outer = radius - (wheelStrokeRadius * 2);
+            float middle = (outer + innerRadius) / 2;
+            rectF.set(cx - middle, cy - middle, cx + middle, cy + middle);
+            itemPaint.setStrokeWidth(Math.max(0, outer - innerRadius));
+        }
+
+        itemPaint.setStyle(itemStyle);
+
+        if (style.isScalableEnabled()) {
+            WheelLod lod = getLod(wheel);
+            int count = lod.getRunCount();
+            int run = span >= ANGLE ? 0 : lod.findRun(from);
+
+            for (int n = 0; n < count; n++, run = (run + 1) % count) {
+                float start = lod.getRunStart(run);
+
+                if (n > 0 && span < ANGLE && WheelModel.normalizeAngle(start - from) > span) {
+                    break;
+                }
+
+                canvas.drawArc(rectF, start, lod.getRunSweep(run), !ring, getItemPaint(lod.getRunItem(run)));
+            }
+
+            return;
+        }
+
+        WheelAngleTable angleTable = table;
+
+        for (int i = 0; i < angleTable.size(); i++) {
+            canvas.drawArc(rectF, angleTable.getStart(i), angleTable.getSweep(i), !ring, getItemPaint(i));
+        }
+    }
+
+    private void drawWheelItems(Canvas canvas, Circle wheel, float from, float span) {
+        float cx = wheel.getCx();
+        float cy = wheel.getCy();
+        float radius = wheel.getRadius();
+        float x = cx - radius + (wheelStrokeRadius * 5);
+        float y = cy;
+        // labels stay inside the band of a ring
+        float textWidth = radius - innerRadius - (wheelStrokeRadius * 10);
+
+        labelCache.update(model, textPaint, textWidth, style.getLabelMode(), style.getLabelMaxLines());
+
+        if (style.isScalableEnabled()) {
+            WheelLod lod = getLod(wheel);
+            int count = lod.getLabelCount();
+            int label = span >= ANGLE ? 0 : lod.findLabel(from);
+
+            for (int n = 0; n < count; n++, label = (label + 1) % count) {
+                float angle = lod.getLabelAngle(label);
+
+                if (n > 0 && span < ANGLE && WheelModel.normalizeAngle(angle - from) > span) {
+                    break;
+                }
+
+                drawWheelItem(canvas, lod.getLabelItem(label), angle, wheel, x, y);
+            }
+
+            return;
+        }
+
+        WheelAngleTable angleTable = table;
+
+        for (int i = 0; i < angleTable.size(); i++) {
+            float angle = angleTable.getStart(i) + angleTable.getSweep(i) / 2;
+
+            drawWheelItem(canvas, i, angle, wheel, x, y);
+        }
+    }
+
+    private void drawWheelItem(Canvas canvas, int index, float angle, Circle wheel, float x, float y) {
+        canvas.save();
+        canvas.rotate(angle + 180, wheel.getCx(), wheel.getCy()); // +180 for start from right
+        labelCache.draw(canvas, index, x, y);
+
+        Bitmap image = imageSlots.get(index);
+
+        if (image != null) {
+            float imageX = wheel.getCx() - innerRadius - (wheel.getRadius() - innerRadius) * IMAGE_RADIUS;
+            float imageY = wheel.getCy();
+
+            // top of the image toward the edge
+            canvas.rotate(-90, imageX, imageY);
+            canvas.drawBitmap(image, imageX - image.getWidth() / 2f, imageY - image.getHeight() / 2f, imagePaint);
+        }
+
+        canvas.restore();
+    }
+
+    // Same size for every wedge, fit in an equal wedge
+    private int getImageSize() {
+        int count = model.getItemSize();
+        float radius = circle.getRadius();
+        float size = (radius - innerRadius) * IMAGE_SIZE;
+
+        if (count > 2) {
+            float imageRadius = innerRadius + (radius - innerRadius) * IMAGE_RADIUS;
+            size = Math.min(size, (float) (2 * imageRadius * Math.sin(Math.PI / count)));
+        }
+
+        return (int) size / IMAGE_SIZE_STEP * IMAGE_SIZE_STEP;
+    }
+
+    private WheelLod getLod(Circle wheel) {
+        float radius = wheel.getRadius();
+
+        if (radius <= 0) {
+            radius = 1;
+        }
+
+        float minWedgeAngle = (float) Math.toDegrees(style.getMinWedgeSize() / radius);
+        float labelRadius = Math.max(radius * LABEL_RADIUS, innerRadius);
+        float minLabelAngle = (float) Math.toDegrees(textPaint.getTextSize() * LABEL_SPACING / labelRadius);
+
+        if (!lod.isValid(minWedgeAngle, minLabelAngle)) {
+            lod.build(table, minWedgeAngle, minLabelAngle);
+        }
+
+        return lod;
+    }
+
+    private void drawTriangle(Canvas canvas) {
+        // Prepare Point
+        float cx = circle.getCx();
+        float cy = circle.getCy();
+        float radius = circle.getRadius();
+
+        // the arrow of a small outer ring still points at its edge without covering it
+        float width = Math.max(0, Math.min(style.getArrowWidth(), radius));
+        float height = Math.max(0, Math.min(style.getArrowHeight(), radius));
+
+        drawTriangle(canvas, trianglePaint, cx, cy - radius, width, height);
+    }
+
+    private void drawTriangle(Canvas canvas, Paint paint, float x, float y, float width, float height) {
+        float halfWidth = width / 2;
+        float halfHeight = height / 2;
+
+        Path path = trianglePath;
+        path.reset();
+        path.moveTo(x - halfWidth, y - halfHeight); // Top left
+        path.lineTo(x + halfWidth, y - halfHeight); // Top right
+        path.lineTo(x, y + halfHeight); // Bottom Center
+        path.lineTo(x - halfWidth, y - halfHeight); // Back to top left
+        path.close();
+
+        canvas.drawPath(path, paint);
+    }
+
+    private Paint getItemPaint(int position) {
+        int[] colors = style.getColors();
+        int i = position % colors.length;
+
+        // if start color == end color, get middle color
+        if (model.getItemSize() - 1 == position && position % colors.length == 0) {
+            i = colors.length / 2;
+        }
+
+        itemPaint.setColor(colors[i]);
+
+        return itemPaint;
+    }
+}
@@ -0,0 +1,171 @@
+package com.adefruandta.spinningwheel;
+
+import java.util.Arrays;
+
+/**
+ * Animate the wedge sizes after adapter updates, from the sizes drawn on screen to the sizes of the model.
+ * Inserted wedges grow from zero, changed weights resize, removed wedges disappear at once
+ * and their neighbours grow into the space.
+ * Disabled when the duration is 0, then the table of the model is drawn as is.
+ */
+class WheelResizeAnimation {
+
+    private long duration;
+
+    // sweeps drawn by the last frame
+    private float[] displaySweeps = new float[0];
+
+    private int displaySize;
+
+    // sweeps when the animation started, mapped to the current positions
+    private float[] fromSweeps = new float[0];
+
+    private int fromSize;
+
+    private float[] weights = new float[0];
+
+    private final WheelAngleTable table = new WheelAngleTable();
+
+    private long startTime = -1;
+
+    // range updates of the same batch start one animation from the same sweeps
+    private boolean pending;
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public void setDuration(long duration) {
+        this.duration = Math.max(0, duration);
+
+        if (duration <= 0) {
+            stop();
+        }
+    }
+
+    public boolean isRunning() {
+        return startTime >= 0 || pending;
+    }
+
+    public void stop() {
+        startTime = -1;
+        pending = false;
+    }
+
+    public void onItemRangeChanged(int positionStart, int itemCount) {
+        begin();
+    }
+
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+        if (!begin() || positionStart > fromSize) {
+            stop();
+            return;
+        }
+
+        fromSweeps = ensureCapacity(fromSweeps, fromSize + itemCount);
+        System.arraycopy(fromSweeps, positionStart, fromSweeps, positionStart + itemCount, fromSize - positionStart);
+
+        for (int i = positionStart; i < positionStart + itemCount; i++) {
+            fromSweeps[i] = 0;
+        }
+
+        fromSize += itemCount;
+    }
+
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+        if (!begin() || positionStart + itemCount > fromSize) {
+            stop();
+            return;
+        }
+
+        System.arraycopy(fromSweeps, positionStart + itemCount, fromSweeps, positionStart,
+                fromSize - positionStart - itemCount);
+
+        fromSize -= itemCount;
+    }
+
+    /**
+     * @param target: table of the model
+     * @param now:    current time in millis
+     * @return table to draw, the target when not animating
+     */
+    public WheelAngleTable getTable(WheelAngleTable target, long now) {
+        if (duration <= 0) {
+            return target;
+        }
+
+        WheelAngleTable drawn = target;
+
+        if (pending) {
+            pending = false;
+            startTime = now;
+        }
+
+        if (startTime >= 0) {
+            float t = (float) (now - startTime) / duration;
+
+            if (t >= 1 || fromSize != target.size()) {
+                startTime = -1;
+            }
+            else {
+                drawn = interpolate(target, decelerate(t));
+            }
+        }
+
+        record(drawn);
+
+        return drawn;
+    }
+
+    // Take the sweeps on screen as start of a new animation, once per batch
+    private boolean begin() {
+        if (duration <= 0) {
+            return false;
+        }
+
+        if (!pending) {
+            fromSweeps = ensureCapacity(fromSweeps, displaySize);
+            System.arraycopy(displaySweeps, 0, fromSweeps, 0, displaySize);
+            fromSize = displaySize;
+            pending = true;
+        }
+
+        return true;
+    }
+
+    private WheelAngleTable interpolate(WheelAngleTable target, float t) {
+        int size = target.size();
+
+        // the table requires one weight per item
+        if (weights.length != size) {
+            weights = new float[size];
+        }
+
+        for (int i = 0; i < size; i++) {
+            weights[i] = fromSweeps[i] + (target.getSweep(i) - fromSweeps[i]) * t;
+        }
+
+        table.set(size, weights);
+
+        return table;
+    }
+
+    private void record(WheelAngleTable drawn) {
+        int size = drawn.size();
+        displaySweeps = ensureCapacity(displaySweeps, size);
+
+        for (int i = 0; i < size; i++) {
+            displaySweeps[i] = drawn.getSweep(i);
+        }
+
+        displaySize = size;
+    }
+
+    private static float decelerate(float t) {
+        return 1 - (1 - t) * (1 - t);
+    }
+
+    private static float[] ensureCapacity(float[] array, int size) {
+        return array.length >= size ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+}
@@ -0,0 +1,210 @@
+package com.adefruandta.spinningwheel;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.support.annotation.ArrayRes;
+import android.support.v4.util.LruCache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resources shared by every wheel, e.g. many small wheels in a RecyclerView.
+ * Color and item arrays are read once per res, and wheels drawing the same items with the same style
+ * and size share one render cache bitmap. Values are cleared when the configuration changes.
+ * Thread safe.
+ */
+public final class WheelResources implements ComponentCallbacks2 {
+
+    // Part of the heap used by the render caches no wheel draws
+    private final static int MEMORY_DIVIDER = 16;
+
+    private static WheelResources instance;
+
+    private boolean registered;
+
+    // resolved arrays, shared read only
+    private final Map<Integer, int[]> colors = new HashMap<>();
+
+    private final Map<Integer, List<String>> items = new HashMap<>();
+
+    // render caches drawn by at least one wheel
+    private final Map<WheelCacheKey, CacheEntry> caches = new HashMap<>();
+
+    // render caches drawn by no wheel, kept for the next bind
+    private final LruCache<WheelCacheKey, CacheEntry> idleCaches;
+
+    private WheelResources(int maxIdleSize) {
+        idleCaches = new LruCache<WheelCacheKey, CacheEntry>(maxIdleSize) {
+            @Override
+            protected int sizeOf(WheelCacheKey key, CacheEntry entry) {
+                return entry.size;
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, WheelCacheKey key, CacheEntry oldEntry, CacheEntry newEntry) {
+                // removed on acquire while still referenced
+                if (oldEntry.refs == 0) {
+                    caches.remove(key);
+                    oldEntry.cache.release();
+                }
+            }
+        };
+    }
+
+    public static synchronized WheelResources getInstance() {
+        if (instance == null) {
+            instance = new WheelResources((int) Math.min(Runtime.getRuntime().maxMemory() / MEMORY_DIVIDER,
+                    Integer.MAX_VALUE));
+        }
+
+        return instance;
+    }
+
+    /**
+     * @return colors of the array res, default colors when the res is 0 or has less than 3 colors.
+     * The array is shared, do not modify it.
+     */
+    public int[] getColors(Context context, @ArrayRes int colorsResId, boolean editMode) {
+        // layout preview has no stable resources
+        if (editMode) {
+            return WheelStyle.loadColors(context, colorsResId, true);
+        }
+
+        synchronized (this) {
+            register(context);
+
+            int[] array = colors.get(colorsResId);
+
+            if (array == null) {
+                array = WheelStyle.loadColors(context, colorsResId, false);
+                colors.put(colorsResId, array);
+            }
+
+            return array;
+        }
+    }
+
+    /**
+     * @return strings of the array res, read only
+     */
+    public synchronized List<String> getItems(Context context, @ArrayRes int itemsResId) {
+        register(context);
+
+        List<String> list = items.get(itemsResId);
+
+        if (list == null) {
+            list = Collections.unmodifiableList(Arrays.asList(context.getResources().getStringArray(itemsResId)));
+            items.put(itemsResId, list);
+        }
+
+        return list;
+    }
+
+    /**
+     * Drop the resolved arrays and the render caches no wheel draws
+     */
+    public synchronized void clear() {
+        colors.clear();
+        items.clear();
+        idleCaches.evictAll();
+    }
+
+    // region memory
+
+    @Override
+    public synchronized void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_LOW
+                || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+            idleCaches.evictAll();
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        onTrimMemory(TRIM_MEMORY_COMPLETE);
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+        clear();
+    }
+
+    // endregion
+
+    // region render cache
+
+    /**
+     * @return render cache of the key marked as drawn, null if none
+     */
+    synchronized CacheEntry acquireCache(WheelCacheKey key) {
+        CacheEntry entry = caches.get(key);
+
+        if (entry != null) {
+            entry.refs++;
+            idleCaches.remove(key);
+        }
+
+        return entry;
+    }
+
+    /**
+     * Share a render cache drawn with the key
+     *
+     * @return entry marked as drawn, the one of another wheel if it was put first
+     */
+    synchronized CacheEntry putCache(WheelCacheKey key, WheelCache cache, int size) {
+        CacheEntry entry = acquireCache(key);
+
+        if (entry != null) {
+            cache.release();
+            return entry;
+        }
+
+        entry = new CacheEntry(key, cache, size);
+        entry.refs++;
+        caches.put(key, entry);
+
+        return entry;
+    }
+
+    synchronized void releaseCache(CacheEntry entry) {
+        entry.refs--;
+
+        if (entry.refs == 0) {
+            idleCaches.put(entry.key, entry);
+        }
+    }
+
+    // endregion
+
+    private void register(Context context) {
+        if (!registered) {
+            context.getApplicationContext().registerComponentCallbacks(this);
+            registered = true;
+        }
+    }
+
+    // Render cache and the number of wheels drawing it, guarded by the registry
+    static final class CacheEntry {
+
+        final WheelCacheKey key;
+
+        final WheelCache cache;
+
+        // bytes of the bitmap
+        final int size;
+
+        int refs;
+
+        CacheEntry(WheelCacheKey key, WheelCache cache, int size) {
+            this.key = key;
+            this.cache = cache;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.adefruandta.spinningwheel;
+
+import android.graphics.Canvas;
+import android.view.MotionEvent;
+
+import java.util.List;
+
+/**
+ * One concentric ring of a {@link MultiRingWheelView}: its own items, style, rotation and spin.
+ * Every ring keeps its renderer and render cache, so spinning one ring does not redraw the layers of the others.
+ * Spin commands are callable from any thread, like on {@link SpinningWheelView}.
+ */
+public class WheelRing implements WheelModel.OnChangeListener {
+
+    private final MultiRingWheelView view;
+
+    private final WheelStyle style;
+
+    private final WheelRenderer renderer = new WheelRenderer();
+
+    private final WheelModel model = new WheelModel();
+
+    // outer radius relative to the wheel radius
+    private final float radius;
+
+    private boolean styleDirty = true;
+
+    private final WheelEditor.Target editorTarget = new WheelEditor.Target() {
+        @Override
+        public void apply(WheelStyle edited, boolean itemsChanged, List items, float[] weights) {
+            style.set(edited);
+            onStyleChanged();
+
+            if (itemsChanged) {
+                model.setItems(items, weights);
+            }
+        }
+    };
+
+    private SpinEngine spinEngine;
+
+    private final WheelTouchHelper touchHelper = new WheelTouchHelper(new WheelTouchHelper.Callback() {
+        @Override
+        public void onTouchStart() {
+            onRotationListenerTicket = true;
+        }
+
+        @Override
+        public void onDrag(float angle) {
+            model.rotate(angle);
+        }
+
+        @Override
+        public void onTouchEnd() {
+            onRotationListenerTicket = false;
+        }
+
+        @Override
+        public void onFling(SpinCurve rotation) {
+            startSpin(rotation);
+        }
+    });
+
+    // ring area in view coordinates, a drag starting inside the ring rotates it
+    private final Circle touchCircle = new Circle();
+
+    private SpinningWheelView.OnRotationListener onRotationListener;
+
+    private boolean onRotationListenerTicket;
+
+    private volatile boolean onRotation;
+
+    WheelRing(MultiRingWheelView view, WheelStyle style, float radius) {
+        this.view = view;
+        this.style = new WheelStyle(style);
+        this.radius = radius;
+
+        renderer.setImageCallback(new Runnable() {
+            @Override
+            public void run() {
+                WheelRing.this.view.postInvalidate();
+            }
+        });
+        model.addOnChangeListener(view.getDispatcher().onMainThread(this));
+    }
+
+    // region model listener
+
+    @Override
+    public void onRotate(WheelModel model, float angle) {
+        view.invalidate();
+
+        if (onRotationListenerTicket && angle != 0 && onRotationListener != null) {
+            view.getDispatcher().notifyRotation(onRotationListener);
+            onRotationListenerTicket = false;
+        }
+    }
+
+    @Override
+    public void onItemsChanged(WheelModel model) {
+        renderer.invalidate();
+        view.invalidate();
+    }
+
+    @Override
+    public void onItemRangeChanged(WheelModel model, int positionStart, int itemCount) {
+        renderer.onItemRangeChanged(positionStart, itemCount);
+        view.invalidate();
+    }
+
+    @Override
+    public void onItemRangeInserted(WheelModel model, int positionStart, int itemCount) {
+        renderer.onItemRangeInserted(positionStart, itemCount);
+        view.invalidate();
+    }
+
+    @Override
+    public void onItemRangeRemoved(WheelModel model, int positionStart, int itemCount) {
+        renderer.onItemRangeRemoved(positionStart, itemCount);
+        view.invalidate();
+    }
+
+    @Override
+    public void onSpinStop(WheelModel model) {
+        if (!onRotation) {
+            return;
+        }
+
+        onRotation = false;
+        view.getDispatcher().notifyStopRotation(onRotationListener, getSelectedItem());
+    }
+
+    // endregion
+
+    // region Functionality
+
+    /**
+     * @return outer radius relative to the wheel radius
+     */
+    public float getRadius() {
+        return radius;
+    }
+
+    public WheelModel getModel() {
+        return model;
+    }
+
+    /**
+     * Change items and style of the ring at once, the ring layer is rebuilt once on the next frame
+     */
+    public WheelEditor edit() {
+        return new WheelEditor(view.getContext(), view.isInEditMode(), style, editorTarget);
+    }
+
+    public List getItems() {
+        return model.getItems();
+    }
+
+    public void setItems(List items) {
+        model.setItems(items);
+    }
+
+    // rotate without animation, callable from any thread
+    public void rotate(final float angle) {
+        if (!view.getDispatcher().runPending()) {
+            view.getDispatcher().post(new Runnable() {
+                @Override
+                public void run() {
+                    rotate(angle);
+                }
+            });
+            return;
+        }
+
+        model.rotate(angle);
+    }
+
+    /**
+     * Rotate the ring with animation, see {@link SpinningWheelView#rotate(float, long, long)}
+     */
+    public void rotate(final float maxAngle, final long duration, final long interval) {
+        if (maxAngle == 0) {
+            return;
+        }
+
+        if (!view.getDispatcher().runPending()) {
+            view.getDispatcher().post(new Runnable() {
+                @Override
+                public void run() {
+                    rotate(maxAngle, duration, interval);
+                }
+            });
+            return;
+        }
+
+        onRotationListenerTicket = true;
+        startSpin(model.createRotation(maxAngle, duration, interval));
+    }
+
+    /**
+     * Rotate the ring with animation and stop on the given item, see {@link SpinningWheelView#spinTo(int, int, long)}
+     */
+    public void spinTo(final int index, final int revolutions, final long duration) {
+        if (!view.getDispatcher().runPending()) {
+            view.getDispatcher().post(new Runnable() {
+                @Override
+                public void run() {
+                    spinTo(index, revolutions, duration);
+                }
+            });
+            return;
+        }
+
+        if (!model.hasData()) {
+            return;
+        }
+
+        onRotationListenerTicket = true;
+        startSpin(model.createTargetRotation(model.getDistanceTo(index, revolutions), duration));
+    }
+
+    public void setEasing(WheelEasing easing) {
+        model.setEasing(easing);
+    }
+
+    public boolean isFlingEnabled() {
+        return touchHelper.isFlingEnabled();
+    }
+
+    public void setFlingEnabled(boolean flingEnabled) {
+        touchHelper.setFlingEnabled(flingEnabled);
+    }
+
+    public void setDragMode(int dragMode) {
+        touchHelper.setDragMode(dragMode);
+    }
+
+    public SpinningWheelView.OnRotationListener getOnRotationListener() {
+        return onRotationListener;
+    }
+
+    public void setOnRotationListener(SpinningWheelView.OnRotationListener onRotationListener) {
+        this.onRotationListener = onRotationListener;
+    }
+
+    /**
+     * @return true while a spin of this ring runs, callable from any thread
+     */
+    public boolean isSpinning() {
+        return onRotation;
+    }
+
+    public <T> T getSelectedItem() {
+        int selectedIndex = getSelectedIndex();
+
+        if (selectedIndex < 0) {
+            return null;
+        }
+
+        return model.getItem(selectedIndex);
+    }
+
+    /**
+     * @return index of the item of this ring under the arrow, -1 if the ring has no item
+     */
+    public int getSelectedIndex() {
+        return model.getSelectedIndex();
+    }
+
+    // endregion
+
+    // region view
+
+    // Ring bounds in the view: outer radius and radius of the hole, in pixel
+    void setBounds(float cx, float cy, float outerRadius, float innerRadius) {
+        int size = (int) Math.ceil(outerRadius * 2);
+
+        renderer.setSize(size, size);
+        renderer.setInnerRadius(innerRadius);
+        touchCircle.set(cx, cy, outerRadius);
+    }
+
+    boolean contains(float x, float y) {
+        return touchCircle.contains(x, y);
+    }
+
+    // Draw the ring layer centered on the wheel, the canvas is not rotated
+    void draw(Canvas canvas, boolean drawArrow) {
+        if (styleDirty) {
+            styleDirty = false;
+            renderer.setStyle(style);
+        }
+
+        float offset = renderer.getCircle().getRadius();
+
+        canvas.save();
+        canvas.translate(touchCircle.getCx() - offset, touchCircle.getCy() - offset);
+        renderer.drawWheel(canvas, model);
+
+        if (drawArrow) {
+            renderer.drawArrow(canvas);
+        }
+
+        canvas.restore();
+    }
+
+    boolean isAnimating() {
+        return renderer.isAnimating();
+    }
+
+    boolean onTouchEvent(MotionEvent event) {
+        if (onRotation) {
+            return false;
+        }
+
+        return touchHelper.onTouchEvent(view.getContext(), event, touchCircle);
+    }
+
+    // Run the spin engine only while the wheel is on screen, same policy as a single wheel
+    void updateSpinState(boolean active) {
+        if (spinEngine == null || !onRotation || !model.isSpinning()) {
+            return;
+        }
+
+        if (active) {
+            spinEngine.start();
+        }
+        else {
+            spinEngine.cancel();
+
+            if (view.getLifecyclePolicy() == SpinningWheelView.LIFECYCLE_FINISH) {
+                model.finishSpin();
+            }
+        }
+    }
+
+    void release() {
+        renderer.release();
+    }
+
+    private void onStyleChanged() {
+        styleDirty = true;
+        view.invalidate();
+    }
+
+    private void startSpin(SpinCurve curve) {
+        onRotation = true;
+        model.spin(curve);
+
+        if (spinEngine == null) {
+            spinEngine = new SpinEngine(model);
+            spinEngine.setFrameInterval(view.getFrameInterval());
+        }
+
+        updateSpinState(view.isActive());
+    }
+
+    // endregion
+}
@@ -1,91 +1,103 @@
 package com.adefruandta.spinningwheel;
 
-import android.os.CountDownTimer;
-
 /**
  * Created by adefruandta on 3/12/17.
+ *
+ * Legacy rotation curve, previously driven by CountDownTimer ticks.
+ * Every interval the wheel rotated by a step angle: the step doubles from 1 until max angle
+ * during the first third of the duration, then decreases linearly with the remaining time.
+ * The same velocity profile is integrated here over continuous time, so it can be sampled on
+ * every display frame instead of on every tick.
  */
+class WheelRotation implements SpinCurve {
 
-class WheelRotation extends CountDownTimer {
+    final static float SLOW_FACTOR = 2f / 3f;
 
-    private final static float SLOW_FACTOR = 2f / 3f;
+    private final static float ROTATE_SCALE_FACTOR = 2;
 
-    private final float ROTATE_SCALE_FACTOR = 2;
+    private final static double LN_SCALE_FACTOR = Math.log(ROTATE_SCALE_FACTOR);
 
     private float maxAngle;
 
-    private float angle = 1;
+    private float direction = 1;
 
-    private long thresholdSlow;
+    private long duration;
 
-    private RotationListener rotationListener;
+    private long interval;
 
-    private long duration;
+    // time when the step angle stop doubling
+    private float rampEnd;
+
+    // time when the slow down start
+    private float slowStart;
+
+    private float rampAngle;
+
+    private float slowStartAngle;
 
     /**
-     * @param millisInFuture    The number of millis in the future from the call
-     *                          to {@link #start()} until the countdown is done and {@link #onFinish()}
-     *                          is called.
-     * @param countDownInterval The interval along the way to receive
-     *                          {@link #onTick(long)} callbacks.
+     * @param millisInFuture    The number of millis in the future from the start until the rotation stop.
+     * @param countDownInterval The time unit of a step angle.
      */
     public WheelRotation(long millisInFuture, long countDownInterval) {
-        super(millisInFuture, countDownInterval);
-        thresholdSlow = (long) (millisInFuture * SLOW_FACTOR);
-        duration = millisInFuture;
+        setDuration(millisInFuture, countDownInterval);
     }
 
     public static WheelRotation init(long millisInFuture, long countDownInterval) {
         return new WheelRotation(millisInFuture, countDownInterval);
     }
 
-    public WheelRotation setMaxAngle(float maxAngle) {
-        this.maxAngle = maxAngle;
+    // Reuse the instance for another rotation, e.g. in a simulation loop
+    public WheelRotation setDuration(long millisInFuture, long countDownInterval) {
+        duration = millisInFuture;
+        interval = countDownInterval <= 0 ? 1 : countDownInterval;
+        slowStart = millisInFuture - millisInFuture * SLOW_FACTOR;
+        init();
         return this;
     }
 
-    public WheelRotation setListener(RotationListener l) {
-        this.rotationListener = l;
+    public WheelRotation setMaxAngle(float maxAngle) {
+        this.maxAngle = Math.abs(maxAngle);
+        this.direction = maxAngle < 0 ? -1 : 1;
+        init();
         return this;
     }
 
     @Override
-    public void onTick(long millisUntilFinished) {
-        if (rotationListener == null) {
-            return;
-        }
+    public long getDuration() {
+        return duration;
+    }
 
-        if (millisUntilFinished <= thresholdSlow) {
-            angle = maxAngle * ((float) millisUntilFinished / (float) duration);
-            rotationListener.onRotate(angle);
-        }
-        else if (angle < maxAngle) {
-            rotationListener.onRotate(angle);
+    @Override
+    public float getAngle(float elapsed) {
+        return direction * getDistance(Math.max(0, Math.min(elapsed, duration)));
+    }
 
-            angle *= ROTATE_SCALE_FACTOR;
+    private void init() {
+        // step angle start from 1 and reach max angle after log2(maxAngle) steps
+        float rampSteps = maxAngle > 1 ? (float) (Math.log(maxAngle) / LN_SCALE_FACTOR) : 0;
+        rampEnd = Math.min(rampSteps * interval, slowStart);
+        rampAngle = getRampDistance(rampEnd);
+        slowStartAngle = rampAngle + (slowStart - rampEnd) * maxAngle / interval;
+    }
 
-            if (angle > maxAngle) {
-                angle = maxAngle;
-            }
+    private float getDistance(float t) {
+        if (t <= rampEnd) {
+            return getRampDistance(t);
         }
-        else {
-            rotationListener.onRotate(angle);
-        }
-    }
 
-    @Override
-    public void onFinish() {
-        if (rotationListener == null) {
-            return;
+        if (t <= slowStart) {
+            return rampAngle + (t - rampEnd) * maxAngle / interval;
         }
 
-        rotationListener.onStop();
+        // step angle = maxAngle * (duration - t) / duration
+        float slowTime = t - slowStart;
+        float slowDistance = (duration * slowTime - (t * t - slowStart * slowStart) / 2f) / duration;
+        return slowStartAngle + slowDistance * maxAngle / interval;
     }
 
-    public interface RotationListener {
-
-        void onRotate(float angle);
-
-        void onStop();
+    // integral of min(2^(t / interval), maxAngle) / interval
+    private float getRampDistance(float t) {
+        return (float) ((Math.pow(ROTATE_SCALE_FACTOR, t / interval) - 1) / LN_SCALE_FACTOR);
     }
 }
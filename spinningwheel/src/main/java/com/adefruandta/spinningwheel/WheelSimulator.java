@@ -0,0 +1,213 @@
+package com.adefruandta.spinningwheel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Deterministic spin simulator, for fairness audit of the outcome distribution.
+ * Every spin is computed analytically from the {@link WheelRotation} curve, without rendering.
+ * Spin parameters (start angle, max angle, duration) are drawn from a seeded random,
+ * so the same seed always give the same outcome, whatever the number of threads.
+ * Thread safe once configured.
+ */
+public class WheelSimulator {
+
+    private final static float ANGLE = WheelModel.ANGLE;
+
+    // Spins per work unit, define the random streams so the result does not depend on threads
+    private final static int CHUNK_SIZE = 1 << 16;
+
+    private final WheelAngleTable angleTable = new WheelAngleTable();
+
+    // negative for a random start angle
+    private float startAngle = -1;
+
+    private float minMaxAngle = 50;
+
+    private float maxMaxAngle = 50;
+
+    private long minDuration = 3000;
+
+    private long maxDuration = 3000;
+
+    private long interval = 50;
+
+    /**
+     * Snapshot items and weights of the model, later changes of the model are not seen
+     */
+    public WheelSimulator(WheelModel model) {
+        this(model.getItemSize(), model.getItemWeights());
+    }
+
+    /**
+     * @param itemSize: item count
+     * @param weights:  weight of every item, null for equal wedges
+     */
+    public WheelSimulator(int itemSize, float[] weights) {
+        angleTable.set(itemSize, weights == null ? null : weights.clone());
+    }
+
+    /**
+     * @param startAngle: wheel angle before every spin, negative for a random angle
+     */
+    public WheelSimulator setStartAngle(float startAngle) {
+        this.startAngle = startAngle;
+        return this;
+    }
+
+    /**
+     * Max angle of {@link SpinningWheelView#rotate(float, long, long)}, drawn uniformly between min and max
+     */
+    public WheelSimulator setMaxAngle(float min, float max) {
+        this.minMaxAngle = min;
+        this.maxMaxAngle = max;
+        return this;
+    }
+
+    /**
+     * Duration of {@link SpinningWheelView#rotate(float, long, long)}, drawn uniformly between min and max
+     */
+    public WheelSimulator setDuration(long min, long max) {
+        this.minDuration = min;
+        this.maxDuration = max;
+        return this;
+    }
+
+    /**
+     * Interval of {@link SpinningWheelView#rotate(float, long, long)}
+     */
+    public WheelSimulator setInterval(long interval) {
+        this.interval = interval;
+        return this;
+    }
+
+    /**
+     * @return final angle of one spin with the given parameters
+     */
+    public float getStopAngle(float startAngle, float maxAngle, long duration) {
+        WheelRotation rotation = WheelRotation.init(duration, interval).setMaxAngle(maxAngle);
+        return WheelModel.normalizeAngle(startAngle + rotation.getAngle(duration));
+    }
+
+    /**
+     * @return item index where the wheel stop with the given parameters
+     */
+    public int getStopIndex(float startAngle, float maxAngle, long duration) {
+        return getIndexAt(getStopAngle(startAngle, maxAngle, duration));
+    }
+
+    /**
+     * @return item index of a single spin drawn from the seed
+     */
+    public int simulate(long seed) {
+        return simulate(new Random(mix(seed)), WheelRotation.init(0, interval));
+    }
+
+    /**
+     * Run spins on the calling thread
+     *
+     * @return histogram, spin count per item
+     */
+    public long[] run(long seed, long count) {
+        long[] histogram = new long[angleTable.size()];
+        long chunks = getChunkCount(count);
+
+        for (long chunk = 0; chunk < chunks; chunk++) {
+            runChunk(seed, chunk, getChunkSize(count, chunk), histogram);
+        }
+
+        return histogram;
+    }
+
+    /**
+     * Run spins in parallel, the result is the same as {@link #run(long, long)}
+     *
+     * @param threads: worker count, e.g. Runtime.getRuntime().availableProcessors()
+     * @return histogram, spin count per item
+     */
+    public long[] run(final long seed, final long count, int threads) throws InterruptedException {
+        long chunks = getChunkCount(count);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                final long index = chunk;
+
+                futures.add(executor.submit(new Callable<long[]>() {
+                    @Override
+                    public long[] call() throws Exception {
+                        long[] histogram = new long[angleTable.size()];
+                        runChunk(seed, index, getChunkSize(count, index), histogram);
+                        return histogram;
+                    }
+                }));
+            }
+
+            long[] histogram = new long[angleTable.size()];
+
+            for (Future<long[]> future : futures) {
+                long[] chunkHistogram = future.get();
+
+                for (int i = 0; i < histogram.length; i++) {
+                    histogram[i] += chunkHistogram[i];
+                }
+            }
+
+            return histogram;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runChunk(long seed, long chunk, int size, long[] histogram) {
+        if (histogram.length == 0) {
+            return;
+        }
+
+        // independent random stream per chunk
+        Random random = new Random(mix(seed + mix(chunk)));
+        WheelRotation rotation = WheelRotation.init(0, interval);
+
+        for (int i = 0; i < size; i++) {
+            histogram[simulate(random, rotation)]++;
+        }
+    }
+
+    private int simulate(Random random, WheelRotation rotation) {
+        float startAngle = this.startAngle < 0 ? random.nextFloat() * ANGLE : this.startAngle;
+        float maxAngle = minMaxAngle + random.nextFloat() * (maxMaxAngle - minMaxAngle);
+        long duration = minDuration + (long) (random.nextDouble() * (maxDuration - minDuration));
+
+        rotation.setDuration(duration, interval).setMaxAngle(maxAngle);
+        return getIndexAt(startAngle + rotation.getAngle(duration));
+    }
+
+    private int getIndexAt(float angle) {
+        return angleTable.indexOf(WheelModel.normalizeAngle(WheelModel.POINTER_ANGLE - angle));
+    }
+
+    private long getChunkCount(long count) {
+        return (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    private int getChunkSize(long count, long chunk) {
+        return (int) Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE);
+    }
+
+    // splitmix64 finalizer, decorrelate consecutive seeds
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,77 @@
+package com.adefruandta.spinningwheel;
+
+/**
+ * Spin physics, advance a {@link SpinCurve} with the time.
+ * Pure java, time is given by the caller: display frame time on the view,
+ * any clock in tests or simulation.
+ */
+class WheelSpin {
+
+    private final static float NANOS_PER_MILLI = 1000000f;
+
+    private SpinCurve curve;
+
+    private long startTime;
+
+    private float lastAngle;
+
+    private boolean running;
+
+    public void start(SpinCurve curve) {
+        this.curve = curve;
+        this.startTime = -1;
+        this.lastAngle = 0;
+        this.running = true;
+    }
+
+    public void cancel() {
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return total angle of the running spin
+     */
+    public float getDistance() {
+        return running ? curve.getAngle(curve.getDuration()) : 0;
+    }
+
+    /**
+     * @return angle left until the running spin stop
+     */
+    public float getRemainingAngle() {
+        return running ? curve.getAngle(curve.getDuration()) - lastAngle : 0;
+    }
+
+    /**
+     * Advance the spin, the first update define the start time so the spin does not jump
+     *
+     * @param timeNanos: current time in nanos
+     * @return angle rotated since the previous update
+     */
+    public float update(long timeNanos) {
+        if (!running) {
+            return 0;
+        }
+
+        if (startTime < 0) {
+            startTime = timeNanos;
+        }
+
+        long duration = curve.getDuration();
+        float elapsed = Math.min((timeNanos - startTime) / NANOS_PER_MILLI, duration);
+
+        if (elapsed >= duration) {
+            running = false;
+        }
+
+        float angle = curve.getAngle(elapsed);
+        float delta = angle - lastAngle;
+        lastAngle = angle;
+
+        return delta;
+    }
+}
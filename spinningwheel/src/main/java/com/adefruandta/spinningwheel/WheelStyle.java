@@ -0,0 +1,315 @@
+package com.adefruandta.spinningwheel;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.support.annotation.ArrayRes;
+import android.support.annotation.ColorInt;
+import android.support.v4.content.ContextCompat;
+import android.util.DisplayMetrics;
+
+/**
+ * Appearance of a wheel: colors, stroke, labels, arrow and level of detail.
+ * Plain values shared by every wheel view and read by {@link WheelRenderer},
+ * a copy can be handed to another thread.
+ */
+class WheelStyle {
+
+    private final static int MIN_COLORS = 3;
+
+    private final static int COLORS_RES = R.array.rainbow_dash;
+
+    private final static int TEXT_SIZE = 25;
+
+    private final static int TEXT_COLOR = Color.BLACK;
+
+    private final static int ARROW_COLOR = Color.BLACK;
+
+    private final static int ARROW_SIZE = 50;
+
+    final static int LABEL_MAX_LINES = 2;
+
+    // Smallest wedge size in pixel on the edge, thinner wedges are merged in scalable mode
+    final static float MIN_WEDGE_SIZE = 2;
+
+    @ColorInt
+    private int[] colors;
+
+    @ColorInt
+    private int strokeColor;
+
+    private float strokeWidth;
+
+    @ColorInt
+    private int textColor;
+
+    private float textSize;
+
+    private Typeface typeface;
+
+    private int labelMode = WheelLabelCache.MODE_START;
+
+    private int labelMaxLines = LABEL_MAX_LINES;
+
+    @ColorInt
+    private int arrowColor;
+
+    private float arrowWidth;
+
+    private float arrowHeight;
+
+    private boolean scalableEnabled;
+
+    private float zoom = 1;
+
+    private float minWedgeSize = MIN_WEDGE_SIZE;
+
+    private boolean renderCacheEnabled;
+
+    private boolean sharedRenderCacheEnabled;
+
+    private long wedgeAnimationDuration;
+
+    // shared by the wheels, null to draw no image
+    private WheelImageCache imageCache;
+
+    public WheelStyle() {
+    }
+
+    public WheelStyle(WheelStyle style) {
+        set(style);
+    }
+
+    public void set(WheelStyle style) {
+        colors = style.colors;
+        strokeColor = style.strokeColor;
+        strokeWidth = style.strokeWidth;
+        textColor = style.textColor;
+        textSize = style.textSize;
+        typeface = style.typeface;
+        labelMode = style.labelMode;
+        labelMaxLines = style.labelMaxLines;
+        arrowColor = style.arrowColor;
+        arrowWidth = style.arrowWidth;
+        arrowHeight = style.arrowHeight;
+        scalableEnabled = style.scalableEnabled;
+        zoom = style.zoom;
+        minWedgeSize = style.minWedgeSize;
+        renderCacheEnabled = style.renderCacheEnabled;
+        sharedRenderCacheEnabled = style.sharedRenderCacheEnabled;
+        wedgeAnimationDuration = style.wedgeAnimationDuration;
+        imageCache = style.imageCache;
+    }
+
+    /**
+     * Read the style attributes of {@code R.styleable.Wheel}
+     */
+    public void load(Context context, TypedArray typedArray, boolean editMode) {
+        int colorsResId = typedArray.getResourceId(R.styleable.Wheel_wheel_colors, 0);
+        colors = WheelResources.getInstance().getColors(context, colorsResId, editMode);
+
+        strokeColor = typedArray.getColor(R.styleable.Wheel_wheel_stroke_color,
+                ContextCompat.getColor(context, android.R.color.transparent));
+        strokeWidth = typedArray.getDimension(R.styleable.Wheel_wheel_stroke_width, 0f);
+        textSize = typedArray.getDimension(R.styleable.Wheel_wheel_text_size, TEXT_SIZE);
+        textColor = typedArray.getColor(R.styleable.Wheel_wheel_text_color, TEXT_COLOR);
+        arrowColor = typedArray.getColor(R.styleable.Wheel_wheel_arrow_color, ARROW_COLOR);
+        arrowWidth = typedArray.getDimension(R.styleable.Wheel_wheel_arrow_width, dpToPx(context, ARROW_SIZE));
+        arrowHeight = typedArray.getDimension(R.styleable.Wheel_wheel_arrow_height, dpToPx(context, ARROW_SIZE));
+        labelMode = typedArray.getInt(R.styleable.Wheel_wheel_label_mode, WheelLabelCache.MODE_START);
+        setLabelMaxLines(typedArray.getInt(R.styleable.Wheel_wheel_label_max_lines, LABEL_MAX_LINES));
+        scalableEnabled = typedArray.getBoolean(R.styleable.Wheel_wheel_scalable, false);
+        setZoom(typedArray.getFloat(R.styleable.Wheel_wheel_zoom, 1));
+        minWedgeSize = typedArray.getDimension(R.styleable.Wheel_wheel_min_wedge_size, MIN_WEDGE_SIZE);
+        renderCacheEnabled = typedArray.getBoolean(R.styleable.Wheel_wheel_render_cache, false);
+        sharedRenderCacheEnabled = typedArray.getBoolean(R.styleable.Wheel_wheel_shared_render_cache, false);
+        setWedgeAnimationDuration(typedArray.getInt(R.styleable.Wheel_wheel_wedge_animation_duration, 0));
+    }
+
+    // region getter setter
+
+    public int[] getColors() {
+        return colors;
+    }
+
+    // Copied, a caller changing its array in place must set it again
+    public void setColors(int[] colors) {
+        this.colors = colors == null ? null : colors.clone();
+    }
+
+    public int getStrokeColor() {
+        return strokeColor;
+    }
+
+    public void setStrokeColor(int strokeColor) {
+        this.strokeColor = strokeColor;
+    }
+
+    public float getStrokeWidth() {
+        return strokeWidth;
+    }
+
+    public void setStrokeWidth(float strokeWidth) {
+        this.strokeWidth = strokeWidth;
+    }
+
+    public int getTextColor() {
+        return textColor;
+    }
+
+    public void setTextColor(int textColor) {
+        this.textColor = textColor;
+    }
+
+    public float getTextSize() {
+        return textSize;
+    }
+
+    public void setTextSize(float textSize) {
+        this.textSize = textSize;
+    }
+
+    public Typeface getTypeface() {
+        return typeface;
+    }
+
+    public void setTypeface(Typeface typeface) {
+        this.typeface = typeface;
+    }
+
+    public int getLabelMode() {
+        return labelMode;
+    }
+
+    public void setLabelMode(int labelMode) {
+        this.labelMode = labelMode;
+    }
+
+    public int getLabelMaxLines() {
+        return labelMaxLines;
+    }
+
+    public void setLabelMaxLines(int labelMaxLines) {
+        this.labelMaxLines = Math.max(1, labelMaxLines);
+    }
+
+    public int getArrowColor() {
+        return arrowColor;
+    }
+
+    public void setArrowColor(int arrowColor) {
+        this.arrowColor = arrowColor;
+    }
+
+    public float getArrowWidth() {
+        return arrowWidth;
+    }
+
+    public void setArrowWidth(float arrowWidth) {
+        this.arrowWidth = arrowWidth;
+    }
+
+    public float getArrowHeight() {
+        return arrowHeight;
+    }
+
+    public void setArrowHeight(float arrowHeight) {
+        this.arrowHeight = arrowHeight;
+    }
+
+    public boolean isScalableEnabled() {
+        return scalableEnabled;
+    }
+
+    public void setScalableEnabled(boolean scalableEnabled) {
+        this.scalableEnabled = scalableEnabled;
+    }
+
+    public float getZoom() {
+        return zoom;
+    }
+
+    public void setZoom(float zoom) {
+        this.zoom = Math.max(1, zoom);
+    }
+
+    public float getMinWedgeSize() {
+        return minWedgeSize;
+    }
+
+    public void setMinWedgeSize(float minWedgeSize) {
+        this.minWedgeSize = minWedgeSize;
+    }
+
+    public boolean isRenderCacheEnabled() {
+        return renderCacheEnabled;
+    }
+
+    public void setRenderCacheEnabled(boolean renderCacheEnabled) {
+        this.renderCacheEnabled = renderCacheEnabled;
+    }
+
+    public boolean isSharedRenderCacheEnabled() {
+        return sharedRenderCacheEnabled;
+    }
+
+    public void setSharedRenderCacheEnabled(boolean sharedRenderCacheEnabled) {
+        this.sharedRenderCacheEnabled = sharedRenderCacheEnabled;
+    }
+
+    public long getWedgeAnimationDuration() {
+        return wedgeAnimationDuration;
+    }
+
+    public void setWedgeAnimationDuration(long wedgeAnimationDuration) {
+        this.wedgeAnimationDuration = Math.max(0, wedgeAnimationDuration);
+    }
+
+    public WheelImageCache getImageCache() {
+        return imageCache;
+    }
+
+    public void setImageCache(WheelImageCache imageCache) {
+        this.imageCache = imageCache;
+    }
+
+    // endregion
+
+    /**
+     * Colors of array res, default colors when the res is 0 or has less than 3 colors
+     */
+    public static int[] loadColors(Context context, @ArrayRes int colorsResId, boolean editMode) {
+        if (colorsResId == 0) {
+            colorsResId = COLORS_RES;
+        }
+
+        int[] typedArray;
+
+        // if in edit mode
+        if (editMode) {
+            String[] sTypeArray = context.getResources().getStringArray(colorsResId);
+            typedArray = new int[sTypeArray.length];
+
+            for (int i = 0; i < sTypeArray.length; i++) {
+                typedArray[i] = Color.parseColor(sTypeArray[i]);
+            }
+        }
+        else {
+            typedArray = context.getResources().getIntArray(colorsResId);
+        }
+
+        if (typedArray.length < MIN_COLORS && colorsResId != COLORS_RES) {
+            // init default colors
+            return loadColors(context, COLORS_RES, editMode);
+        }
+
+        return typedArray;
+    }
+
+    public static int dpToPx(Context context, int dp) {
+        DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
+        int px = Math.round(dp * (displayMetrics.xdpi / DisplayMetrics.DENSITY_DEFAULT));
+        return px;
+    }
+}
@@ -0,0 +1,159 @@
+package com.adefruandta.spinningwheel;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.AudioManager;
+import android.media.SoundPool;
+import android.os.Build;
+import android.os.Looper;
+import android.support.annotation.RawRes;
+import android.view.HapticFeedbackConstants;
+import android.view.View;
+
+/**
+ * Sound and haptic "clack" when a wedge boundary passes the arrow.
+ * The sample is preloaded in a {@link SoundPool}, so a tick is played from the frame which rotated the wheel
+ * with no decoding. Crossings of one frame are merged into a single tick.
+ * Ticks can come from any thread, haptics are performed on the main thread.
+ */
+class WheelTickFeedback implements WheelModel.OnTickListener {
+
+    // Ticks overlapping at high speed
+    private final static int MAX_STREAMS = 4;
+
+    private final View view;
+
+    @RawRes
+    private int soundResId;
+
+    private volatile boolean hapticEnabled;
+
+    // read by the render thread of the texture view
+    private volatile SoundPool soundPool;
+
+    // 0 until the sample is loaded
+    private volatile int soundId;
+
+    private final Runnable hapticRunnable = new Runnable() {
+        @Override
+        public void run() {
+            performHaptic();
+        }
+    };
+
+    WheelTickFeedback(View view) {
+        this.view = view;
+    }
+
+    public int getSound() {
+        return soundResId;
+    }
+
+    /**
+     * @param soundResId: raw res of a short sample, 0 for no sound
+     */
+    public void setSound(@RawRes int soundResId) {
+        if (this.soundResId == soundResId) {
+            return;
+        }
+
+        boolean prepared = soundPool != null;
+        release();
+        this.soundResId = soundResId;
+
+        if (prepared) {
+            prepare(view.getContext());
+        }
+    }
+
+    public boolean isHapticEnabled() {
+        return hapticEnabled;
+    }
+
+    public void setHapticEnabled(boolean hapticEnabled) {
+        this.hapticEnabled = hapticEnabled;
+    }
+
+    public boolean isEnabled() {
+        return soundResId != 0 || hapticEnabled;
+    }
+
+    /**
+     * Load the sample in background, called when the wheel is attached
+     */
+    public void prepare(Context context) {
+        if (soundResId == 0 || soundPool != null || context == null) {
+            return;
+        }
+
+        final SoundPool pool = createSoundPool();
+        pool.setOnLoadCompleteListener(new SoundPool.OnLoadCompleteListener() {
+            @Override
+            public void onLoadComplete(SoundPool soundPool, int sampleId, int status) {
+                // a newer sound may have replaced it
+                if (status == 0 && pool == WheelTickFeedback.this.soundPool) {
+                    soundId = sampleId;
+                }
+            }
+        });
+
+        soundPool = pool;
+        pool.load(context, soundResId, 1);
+    }
+
+    /**
+     * Free the sample, called when the wheel is detached
+     */
+    public void release() {
+        SoundPool pool = soundPool;
+
+        soundPool = null;
+        soundId = 0;
+
+        if (pool != null) {
+            pool.release();
+        }
+    }
+
+    @Override
+    public void onTick(WheelModel model, int crossings) {
+        SoundPool pool = soundPool;
+        int id = soundId;
+
+        if (pool != null && id != 0) {
+            pool.play(id, 1, 1, 1, 0, 1);
+        }
+
+        if (hapticEnabled) {
+            if (Looper.myLooper() == Looper.getMainLooper()) {
+                performHaptic();
+            }
+            else {
+                view.post(hapticRunnable);
+            }
+        }
+    }
+
+    private void performHaptic() {
+        int feedback = Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP
+                ? HapticFeedbackConstants.CLOCK_TICK
+                : HapticFeedbackConstants.KEYBOARD_TAP;
+
+        view.performHapticFeedback(feedback);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static SoundPool createSoundPool() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            return new SoundPool.Builder()
+                    .setMaxStreams(MAX_STREAMS)
+                    .setAudioAttributes(new AudioAttributes.Builder()
+                            .setUsage(AudioAttributes.USAGE_ASSISTANCE_SONIFICATION)
+                            .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                            .build())
+                    .build();
+        }
+
+        return new SoundPool(MAX_STREAMS, AudioManager.STREAM_SYSTEM, 0);
+    }
+}
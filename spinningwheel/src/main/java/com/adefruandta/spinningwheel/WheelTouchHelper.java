@@ -0,0 +1,339 @@
+package com.adefruandta.spinningwheel;
+
+import android.content.Context;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.ViewConfiguration;
+
+/**
+ * Turn touch events on a wheel into drag rotation and fling, shared by the wheel views.
+ */
+class WheelTouchHelper {
+
+    // Rotation estimated from the finger movement, default
+    final static int DRAG_MODE_LINEAR = 0;
+
+    // Wheel follows the angle of the finger around the center, opt-in
+    final static int DRAG_MODE_ANGULAR = 1;
+
+    private final static float TOUCH_SCALE_FACTOR = (180.0f / 320) / 2;
+
+    // Part of the radius around the center where the finger angle is not reliable
+    private final static float DEAD_ZONE = 0.1f;
+
+    // Decay rate per second of a fling
+    final static float FLING_FRICTION = 2f;
+
+    private final static int VELOCITY_UNITS = 1000;
+
+    private final Callback callback;
+
+    private boolean flingEnabled;
+
+    private float flingFriction = FLING_FRICTION;
+
+    private VelocityTracker velocityTracker;
+
+    private final FlingRotation flingRotation = new FlingRotation();
+
+    private int minFlingVelocity;
+
+    private int maxFlingVelocity;
+
+    private int dragMode = DRAG_MODE_LINEAR;
+
+    // a gesture started inside the wheel
+    private boolean dragging;
+
+    private final AngularVelocityTracker angularVelocityTracker = new AngularVelocityTracker();
+
+    // angle of the finger around the center, NaN in the dead zone
+    private float previousAngle = Float.NaN;
+
+    // rotation since the gesture start
+    private float dragAngle;
+
+    private float previousX;
+
+    private float previousY;
+
+    public WheelTouchHelper(Callback callback) {
+        this.callback = callback;
+    }
+
+    public boolean isFlingEnabled() {
+        return flingEnabled;
+    }
+
+    public void setFlingEnabled(boolean flingEnabled) {
+        this.flingEnabled = flingEnabled;
+
+        if (!flingEnabled) {
+            recycleVelocityTracker();
+        }
+    }
+
+    public float getFlingFriction() {
+        return flingFriction;
+    }
+
+    public void setFlingFriction(float flingFriction) {
+        this.flingFriction = flingFriction;
+    }
+
+    public int getDragMode() {
+        return dragMode;
+    }
+
+    public void setDragMode(int dragMode) {
+        this.dragMode = dragMode;
+    }
+
+    /**
+     * @param circle: wheel area in view coordinates, a gesture must start inside,
+     *                an angular drag is then tracked everywhere, a linear drag only inside
+     */
+    public boolean onTouchEvent(Context context, MotionEvent event, Circle circle) {
+        float x = event.getX();
+        float y = event.getY();
+        int action = event.getActionMasked();
+
+        if (action == MotionEvent.ACTION_DOWN) {
+            if (!circle.contains(x, y)) {
+                return false;
+            }
+
+            dragging = true;
+        }
+        else if (!dragging) {
+            return false;
+        }
+
+        // a linear drag ignores the finger outside the wheel, as it always did
+        if (dragMode == DRAG_MODE_LINEAR && !circle.contains(x, y)) {
+            if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+                dragging = false;
+                callback.onTouchEnd();
+                recycleVelocityTracker();
+            }
+
+            return false;
+        }
+
+        if (flingEnabled && dragMode == DRAG_MODE_LINEAR) {
+            trackVelocity(event);
+        }
+
+        switch (action) {
+            case MotionEvent.ACTION_DOWN:
+                previousAngle = Float.NaN;
+                dragAngle = 0;
+                angularVelocityTracker.clear();
+                getAngularDelta(x, y, event.getEventTime(), circle);
+
+                callback.onTouchStart();
+                break;
+
+            case MotionEvent.ACTION_MOVE:
+                drag(event, circle);
+                break;
+
+            case MotionEvent.ACTION_UP:
+                drag(event, circle);
+                dragging = false;
+                callback.onTouchEnd();
+
+                if (flingEnabled) {
+                    fling(context, x, y, circle);
+                }
+                break;
+
+            case MotionEvent.ACTION_CANCEL:
+                dragging = false;
+                callback.onTouchEnd();
+                recycleVelocityTracker();
+                break;
+        }
+
+        previousX = x;
+        previousY = y;
+
+        return true;
+    }
+
+    private void drag(MotionEvent event, Circle circle) {
+        float x = event.getX();
+        float y = event.getY();
+
+        if (dragMode == DRAG_MODE_LINEAR) {
+            float dx = x - previousX;
+            float dy = y - previousY;
+
+            // reverse direction of rotation above the mid-line
+            if (y > circle.getCy()) {
+                dx = dx * -1;
+            }
+
+            // reverse direction of rotation to left of the mid-line
+            if (x < circle.getCx()) {
+                dy = dy * -1;
+            }
+
+            callback.onDrag((dx + dy) * TOUCH_SCALE_FACTOR);
+            return;
+        }
+
+        // every sample batched since the previous event, rotated at once
+        float angle = 0;
+
+        for (int i = 0; i < event.getHistorySize(); i++) {
+            angle += getAngularDelta(event.getHistoricalX(i), event.getHistoricalY(i),
+                    event.getHistoricalEventTime(i), circle);
+        }
+
+        angle += getAngularDelta(x, y, event.getEventTime(), circle);
+
+        if (angle != 0) {
+            callback.onDrag(angle);
+        }
+    }
+
+    // Angle of the finger around the center since the previous sample, positive is clockwise on screen
+    private float getAngularDelta(float x, float y, long time, Circle circle) {
+        float rx = x - circle.getCx();
+        float ry = y - circle.getCy();
+        float deadZone = circle.getRadius() * DEAD_ZONE;
+
+        if (rx * rx + ry * ry < deadZone * deadZone) {
+            // the angle jumps around the center, start again outside
+            previousAngle = Float.NaN;
+            return 0;
+        }
+
+        float angle = (float) Math.toDegrees(Math.atan2(ry, rx));
+        float delta = Float.isNaN(previousAngle) ? 0 : getAngleDelta(previousAngle, angle);
+
+        previousAngle = angle;
+        dragAngle += delta;
+        angularVelocityTracker.addSample(time, dragAngle);
+
+        return delta;
+    }
+
+    /**
+     * @return shortest rotation between two angles, between -180 and 180
+     */
+    static float getAngleDelta(float from, float to) {
+        float delta = (to - from) % 360f;
+
+        if (delta > 180f) {
+            delta -= 360f;
+        }
+        else if (delta <= -180f) {
+            delta += 360f;
+        }
+
+        return delta;
+    }
+
+    private void trackVelocity(MotionEvent event) {
+        if (event.getAction() == MotionEvent.ACTION_DOWN) {
+            if (velocityTracker == null) {
+                velocityTracker = VelocityTracker.obtain();
+            }
+            else {
+                velocityTracker.clear();
+            }
+        }
+
+        if (velocityTracker != null) {
+            velocityTracker.addMovement(event);
+        }
+    }
+
+    private void recycleVelocityTracker() {
+        if (velocityTracker != null) {
+            velocityTracker.recycle();
+            velocityTracker = null;
+        }
+    }
+
+    private void fling(Context context, float x, float y, Circle circle) {
+        if (maxFlingVelocity == 0) {
+            ViewConfiguration configuration = ViewConfiguration.get(context);
+            minFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+            maxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+        }
+
+        if (dragMode == DRAG_MODE_ANGULAR) {
+            flingAngular(x, y, circle);
+            return;
+        }
+
+        if (velocityTracker == null) {
+            return;
+        }
+
+        velocityTracker.computeCurrentVelocity(VELOCITY_UNITS, maxFlingVelocity);
+        float vx = velocityTracker.getXVelocity();
+        float vy = velocityTracker.getYVelocity();
+
+        recycleVelocityTracker();
+
+        if (vx * vx + vy * vy < minFlingVelocity * minFlingVelocity) {
+            return;
+        }
+
+        // angular velocity = (r x v) / |r|^2, positive is clockwise on screen
+        float rx = x - circle.getCx();
+        float ry = y - circle.getCy();
+        float distance = rx * rx + ry * ry;
+
+        if (distance == 0) {
+            return;
+        }
+
+        startFling((float) Math.toDegrees((rx * vy - ry * vx) / distance));
+    }
+
+    // Fling at the angular velocity of the drag, bounded by the linear fling velocities at the finger
+    private void flingAngular(float x, float y, Circle circle) {
+        float velocity = angularVelocityTracker.getVelocity();
+        float rx = x - circle.getCx();
+        float ry = y - circle.getCy();
+        float distance = (float) Math.sqrt(rx * rx + ry * ry);
+
+        angularVelocityTracker.clear();
+
+        if (distance == 0 || Math.toRadians(Math.abs(velocity)) * distance < minFlingVelocity) {
+            return;
+        }
+
+        float maxVelocity = (float) Math.toDegrees(maxFlingVelocity / distance);
+
+        startFling(Math.max(-maxVelocity, Math.min(velocity, maxVelocity)));
+    }
+
+    private void startFling(float velocity) {
+        flingRotation.set(velocity, flingFriction);
+
+        if (flingRotation.getDuration() == 0) {
+            return;
+        }
+
+        callback.onFling(flingRotation);
+    }
+
+    interface Callback {
+
+        void onTouchStart();
+
+        // angle to rotate since the previous event
+        void onDrag(float angle);
+
+        void onTouchEnd();
+
+        // rotation is reused by the next fling
+        void onFling(SpinCurve rotation);
+    }
+}
@@ -0,0 +1,65 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plain JVM test of the fling curve, v(t) = v0 * e^(-friction * t) until 5 degrees per second.
+ */
+public class FlingRotationTest {
+
+    @Test
+    public void angle_integralOfDecayingVelocity() throws Exception {
+        FlingRotation rotation = new FlingRotation().set(1000, 2);
+
+        // ln(1000 / 5) / 2 seconds
+        long duration = rotation.getDuration();
+        assertEquals(Math.log(200) / 2 * 1000, duration, 1);
+
+        for (float t = 0; t <= duration; t += 100) {
+            double expected = 1000.0 / 2 * (1 - Math.exp(-2 * t / 1000.0));
+            assertEquals(expected, rotation.getAngle(t), 0.01);
+        }
+
+        // velocity at the end is the stop velocity, total is v0 / friction minus what is left
+        assertEquals(500 - 5 / 2f, rotation.getAngle(duration), 0.05f);
+    }
+
+    @Test
+    public void angle_clampedToDuration() throws Exception {
+        FlingRotation rotation = new FlingRotation().set(720, 3);
+        long duration = rotation.getDuration();
+
+        assertEquals(0, rotation.getAngle(-100), 0);
+        assertEquals(rotation.getAngle(duration), rotation.getAngle(duration + 5000), 0);
+    }
+
+    @Test
+    public void duration_zeroWhenTooSlowOrNoFriction() throws Exception {
+        FlingRotation rotation = new FlingRotation();
+
+        assertEquals(0, rotation.set(5, 2).getDuration());
+        assertEquals(0, rotation.set(-4, 2).getDuration());
+        assertEquals(0, rotation.set(1000, 0).getDuration());
+        assertEquals(0, rotation.set(1000, -1).getDuration());
+        assertEquals(0, rotation.getAngle(100), 0);
+
+        // reused instance is not stuck at 0
+        assertTrue(rotation.set(1000, 2).getDuration() > 0);
+    }
+
+    @Test
+    public void angle_keepsCounterClockwiseSign() throws Exception {
+        FlingRotation clockwise = new FlingRotation().set(800, 2);
+        FlingRotation counterClockwise = new FlingRotation().set(-800, 2);
+
+        assertEquals(clockwise.getDuration(), counterClockwise.getDuration());
+
+        for (float t = 100; t <= clockwise.getDuration(); t += 100) {
+            assertTrue(counterClockwise.getAngle(t) < 0);
+            assertEquals(-clockwise.getAngle(t), counterClockwise.getAngle(t), 0);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Framework calls are stubbed (returnDefaultValues), only ring layout and hit testing are checked.
+ */
+public class MultiRingWheelViewTest {
+
+    @Test
+    public void ringAt_routedByRadius() throws Exception {
+        MultiRingWheelView wheelView = new MultiRingWheelView(null);
+        wheelView.onSizeChanged(200, 200, 0, 0);
+
+        // added inner first, still ordered by radius
+        WheelRing inner = wheelView.addRing(0.5f);
+        WheelRing outer = wheelView.addRing(1f);
+
+        assertSame(outer, wheelView.getRing(0));
+        assertSame(inner, wheelView.getRing(1));
+
+        assertSame(outer, wheelView.getRingAt(100, 10));
+        assertSame(outer, wheelView.getRingAt(20, 100));
+        assertSame(inner, wheelView.getRingAt(100, 60));
+        assertSame(inner, wheelView.getRingAt(100, 100));
+        assertNull(wheelView.getRingAt(5, 5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addRing_rejectUsedRadius() throws Exception {
+        MultiRingWheelView wheelView = new MultiRingWheelView(null);
+        wheelView.addRing(1f);
+        wheelView.addRing(0.5f);
+        wheelView.addRing(0.5f);
+    }
+
+    @Test
+    public void rings_rotateIndependently() throws Exception {
+        MultiRingWheelView wheelView = new MultiRingWheelView(null);
+        WheelRing prizes = wheelView.addRing(1f);
+        WheelRing multipliers = wheelView.addRing(0.5f);
+
+        prizes.setItems(Arrays.asList("A", "B", "C", "D"));
+        multipliers.setItems(Arrays.asList("x1", "x2"));
+
+        prizes.rotate(45);
+
+        assertEquals(45, prizes.getModel().getAngle(), 0);
+        assertEquals(0, multipliers.getModel().getAngle(), 0);
+    }
+}
@@ -0,0 +1,48 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * Framework calls are stubbed (returnDefaultValues), both wheel views delegate to {@link WheelController}
+ * and must answer the same for the same calls.
+ */
+public class SpinningWheelTextureViewTest {
+
+    @Test
+    public void sameSelectionAsSpinningWheelView() throws Exception {
+        SpinningWheelView wheelView = new SpinningWheelView(null);
+        SpinningWheelTextureView textureView = new SpinningWheelTextureView(null);
+        List<String> items = Arrays.asList("A", "B", "C", "D");
+
+        wheelView.setItems(items);
+        textureView.setItems(items);
+
+        for (float angle : new float[]{0, 45, 90, 200, -300, 720}) {
+            wheelView.rotate(angle);
+            textureView.rotate(angle);
+
+            assertEquals(wheelView.getModel().getSelectedIndex(), textureView.getModel().getSelectedIndex());
+            assertEquals((String) wheelView.getSelectedItem(), (String) textureView.getSelectedItem());
+        }
+    }
+
+    @Test
+    public void propertiesKeptPerView() throws Exception {
+        SpinningWheelTextureView first = new SpinningWheelTextureView(null);
+        SpinningWheelTextureView second = new SpinningWheelTextureView(null);
+
+        first.setWheelTextSize(40);
+        first.setWedgeJitter(0.5f);
+
+        assertEquals(40, first.getWheelTextSize(), 0);
+        assertEquals(0.5f, first.getWedgeJitter(), 0);
+        assertEquals(new SpinningWheelTextureView(null).getWheelTextSize(), second.getWheelTextSize(), 0);
+        assertNotSame(first.getModel(), second.getModel());
+    }
+}
@@ -0,0 +1,91 @@
+package com.adefruandta.spinningwheel;
+
+import android.graphics.Canvas;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Guard the draw and selection path against per frame allocation.
+ * Framework calls are stubbed (returnDefaultValues), so every allocated byte comes from the library.
+ */
+public class SpinningWheelViewAllocationTest {
+
+    private static final int ITEM_SIZE = 50;
+
+    private static final int FRAMES = 1000;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+
+    private SpinningWheelView wheelView;
+
+    private Canvas canvas;
+
+    @Before
+    public void setUp() throws Exception {
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < ITEM_SIZE; i++) {
+            items.add("Item " + i);
+        }
+
+        wheelView = new SpinningWheelView(null);
+        wheelView.setColors(new int[]{0xffee4035, 0xfff37736, 0xfffdf498, 0xff7bc043, 0xff0392cf});
+        wheelView.setItems(items);
+
+        canvas = new Canvas();
+    }
+
+    @Test
+    public void draw_isAllocationFree() throws Exception {
+        // warm up, first frame build points and labels
+        drawFrames(FRAMES);
+
+        long allocated = measure(FRAMES) - measure(0);
+
+        assertEquals("Bytes allocated by " + FRAMES + " frames", 0, Math.max(0, allocated));
+    }
+
+    @Test
+    public void drawWithMetrics_isAllocationFree() throws Exception {
+        wheelView.setMetricsListener(new WheelMetrics());
+
+        drawFrames(FRAMES);
+
+        long allocated = measure(FRAMES) - measure(0);
+
+        assertEquals("Bytes allocated by " + FRAMES + " frames", 0, Math.max(0, allocated));
+    }
+
+    private long measure(int frames) {
+        long threadId = Thread.currentThread().getId();
+        long min = Long.MAX_VALUE;
+
+        // take the minimum of several runs to filter out measurement noise
+        for (int run = 0; run < 5; run++) {
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            drawFrames(frames);
+            long after = threadMXBean.getThreadAllocatedBytes(threadId);
+
+            min = Math.min(min, after - before);
+        }
+
+        return min;
+    }
+
+    private void drawFrames(int frames) {
+        for (int i = 0; i < frames; i++) {
+            wheelView.rotate(7.5f);
+            wheelView.onDraw(canvas);
+            wheelView.getSelectedItem();
+        }
+    }
+}
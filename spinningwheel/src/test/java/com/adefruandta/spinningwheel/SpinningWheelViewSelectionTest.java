@@ -0,0 +1,47 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Framework calls are stubbed (returnDefaultValues), selection changes come from the model rotation.
+ */
+public class SpinningWheelViewSelectionTest {
+
+    @Test
+    public void selectionChanged_oncePerWedgeCrossingRotation() throws Exception {
+        SpinningWheelView wheelView = new SpinningWheelView(null);
+        wheelView.setItems(Arrays.asList("A", "B", "C", "D"));
+
+        final List<int[]> changes = new ArrayList<>();
+
+        wheelView.setOnSelectionChangeListener(new SpinningWheelView.OnSelectionChangeListener() {
+            @Override
+            public void onSelectionChanged(int oldIndex, int newIndex) {
+                changes.add(new int[]{oldIndex, newIndex});
+            }
+        });
+
+        // inside the wedge of D, then into C
+        wheelView.rotate(-10);
+        wheelView.rotate(55);
+        assertEquals(1, changes.size());
+        assertEquals(3, changes.get(0)[0]);
+        assertEquals(2, changes.get(0)[1]);
+
+        // crossing B and landing on A is one change
+        wheelView.rotate(180);
+        assertEquals(2, changes.size());
+        assertEquals(2, changes.get(1)[0]);
+        assertEquals(0, changes.get(1)[1]);
+
+        // a full turn back on the same item is not a change
+        wheelView.rotate(360);
+        assertEquals(2, changes.size());
+    }
+}
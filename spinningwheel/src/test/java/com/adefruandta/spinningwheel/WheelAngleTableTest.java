@@ -0,0 +1,114 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plain JVM test of the cumulative angle table, equal and weighted wedges.
+ */
+public class WheelAngleTableTest {
+
+    private final WheelAngleTable table = new WheelAngleTable();
+
+    @Test
+    public void equalItems_sameSweep() throws Exception {
+        table.set(4, null);
+
+        assertFalse(table.isWeighted());
+        assertEquals(4, table.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i * 90f, table.getStart(i), 0);
+            assertEquals(90f, table.getSweep(i), 0);
+        }
+    }
+
+    @Test
+    public void weightedItems_sweepFollowsWeight() throws Exception {
+        table.set(4, new float[]{4, 2, 1, 1});
+
+        assertTrue(table.isWeighted());
+        assertEquals(0f, table.getStart(0), 0);
+        assertEquals(180f, table.getStart(1), 0);
+        assertEquals(270f, table.getStart(2), 0);
+        assertEquals(315f, table.getStart(3), 0);
+        assertEquals(45f, table.getSweep(3), 0);
+    }
+
+    @Test
+    public void zeroWeights_equalItems() throws Exception {
+        table.set(3, new float[]{0, 0, 0});
+
+        assertFalse(table.isWeighted());
+        assertEquals(120f, table.getSweep(1), 0);
+    }
+
+    @Test
+    public void indexOf_equalItems() throws Exception {
+        table.set(4, null);
+
+        assertEquals(0, table.indexOf(0));
+        assertEquals(0, table.indexOf(89.9f));
+        assertEquals(1, table.indexOf(90));
+        assertEquals(3, table.indexOf(359.99f));
+
+        // float rounding on the last edge stays on the last item
+        assertEquals(3, table.indexOf(360));
+    }
+
+    @Test
+    public void indexOf_weightedItems() throws Exception {
+        table.set(4, new float[]{4, 2, 1, 1});
+
+        assertEquals(0, table.indexOf(0));
+        assertEquals(0, table.indexOf(179.9f));
+        assertEquals(1, table.indexOf(180));
+        assertEquals(2, table.indexOf(300));
+        assertEquals(3, table.indexOf(315));
+        assertEquals(3, table.indexOf(360));
+    }
+
+    @Test
+    public void indexOf_emptyWedgeNeverSelected() throws Exception {
+        table.set(3, new float[]{1, 0, 1});
+
+        assertEquals(0f, table.getSweep(1), 0);
+        assertEquals(0, table.indexOf(179.9f));
+        assertEquals(2, table.indexOf(180));
+    }
+
+    @Test
+    public void indexOf_noItem() throws Exception {
+        table.set(0, null);
+
+        assertEquals(-1, table.indexOf(0));
+        assertEquals(0, table.countBoundaries(0, 720));
+    }
+
+    @Test
+    public void countBoundaries_anyDirection() throws Exception {
+        table.set(4, null);
+
+        assertEquals(0, table.countBoundaries(10, 80));
+        assertEquals(1, table.countBoundaries(80, 100));
+        assertEquals(1, table.countBoundaries(100, 80));
+
+        // a full turn passes every start angle
+        assertEquals(4, table.countBoundaries(10, 370));
+        assertEquals(4, table.countBoundaries(-10, -370));
+        assertEquals(1, table.countBoundaries(-10, 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void set_rejectWeightsOfOtherSize() throws Exception {
+        table.set(4, new float[]{1, 2});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void set_rejectNegativeWeight() throws Exception {
+        table.set(2, new float[]{1, -1});
+    }
+}
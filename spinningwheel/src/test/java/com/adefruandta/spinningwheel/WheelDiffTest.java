@@ -0,0 +1,165 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plain JVM test of the diff, replaying the updates on the old list must give the new list.
+ */
+public class WheelDiffTest {
+
+    // placeholder of an inserted or changed item
+    private static final String NEW = "?";
+
+    // id is the letter, content is the digit
+    private static final WheelDiff.Callback<String> CALLBACK = new WheelDiff.Callback<String>() {
+        @Override
+        public boolean areItemsTheSame(String oldItem, String newItem) {
+            return oldItem.charAt(0) == newItem.charAt(0);
+        }
+
+        @Override
+        public boolean areContentsTheSame(String oldItem, String newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    @Test
+    public void dispatch_replayGivesNewItems() throws Exception {
+        Random random = new Random(42);
+
+        for (int n = 0; n < 200; n++) {
+            List<String> oldItems = randomItems(random);
+            List<String> newItems = randomItems(random);
+
+            assertReplay(oldItems, newItems);
+        }
+    }
+
+    @Test
+    public void dispatch_sameItemsNoUpdate() throws Exception {
+        List<String> items = Arrays.asList("A0", "B0", "C1");
+
+        assertTrue(WheelDiff.calculate(items, new ArrayList<>(items), CALLBACK).isEmpty());
+        assertFalse(WheelDiff.calculate(items, Arrays.asList("A0", "B1", "C1"), CALLBACK).isEmpty());
+    }
+
+    @Test
+    public void modelAdapter_notifyOnlyInsertedRange() throws Exception {
+        ListWheelAdapter<String> adapter = new ListWheelAdapter<>();
+        adapter.setItems(Arrays.asList("A", "B", "C"));
+
+        WheelModel model = new WheelModel();
+        model.setAdapter(adapter);
+
+        final List<int[]> inserts = new ArrayList<>();
+        model.addOnChangeListener(new WheelModel.OnChangeListener() {
+            @Override
+            public void onRotate(WheelModel model, float angle) {
+            }
+
+            @Override
+            public void onItemsChanged(WheelModel model) {
+                throw new AssertionError("full update");
+            }
+
+            @Override
+            public void onItemRangeChanged(WheelModel model, int positionStart, int itemCount) {
+            }
+
+            @Override
+            public void onItemRangeInserted(WheelModel model, int positionStart, int itemCount) {
+                inserts.add(new int[]{positionStart, itemCount});
+            }
+
+            @Override
+            public void onItemRangeRemoved(WheelModel model, int positionStart, int itemCount) {
+            }
+
+            @Override
+            public void onSpinStop(WheelModel model) {
+            }
+        });
+
+        adapter.setItems(Arrays.asList("A", "X", "Y", "B", "C"));
+
+        assertEquals(1, inserts.size());
+        assertEquals(1, inserts.get(0)[0]);
+        assertEquals(2, inserts.get(0)[1]);
+        assertEquals(5, model.getItemSize());
+        assertEquals("Y", model.getLabel(2));
+        assertEquals(72f, model.getAngleTable().getSweep(4), 0.001f);
+    }
+
+    private void assertReplay(List<String> oldItems, final List<String> newItems) {
+        final List<String> replay = new ArrayList<>(oldItems);
+
+        WheelAdapter<String> adapter = new WheelAdapter<String>() {
+            @Override
+            public int getCount() {
+                return newItems.size();
+            }
+
+            @Override
+            public String getItem(int position) {
+                return newItems.get(position);
+            }
+        };
+
+        adapter.registerObserver(new WheelAdapter.Observer() {
+            @Override
+            public void onChanged() {
+                throw new AssertionError("full update");
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                for (int i = positionStart; i < positionStart + itemCount; i++) {
+                    replay.set(i, NEW);
+                }
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                for (int i = 0; i < itemCount; i++) {
+                    replay.add(positionStart, NEW);
+                }
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                replay.subList(positionStart, positionStart + itemCount).clear();
+            }
+        });
+
+        WheelDiff.calculate(oldItems, newItems, CALLBACK).dispatchUpdatesTo(adapter);
+
+        assertEquals(newItems.size(), replay.size());
+
+        for (int i = 0; i < replay.size(); i++) {
+            // kept items are exactly the new ones, others have been notified
+            if (replay.get(i) != NEW) {
+                assertEquals(newItems.get(i), replay.get(i));
+            }
+        }
+    }
+
+    private List<String> randomItems(Random random) {
+        List<String> items = new ArrayList<>();
+        int size = random.nextInt(12);
+
+        for (int i = 0; i < size; i++) {
+            items.add((char) ('A' + random.nextInt(8)) + "" + random.nextInt(2));
+        }
+
+        return items;
+    }
+}
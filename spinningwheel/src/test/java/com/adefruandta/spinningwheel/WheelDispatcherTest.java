@@ -0,0 +1,135 @@
+package com.adefruandta.spinningwheel;
+
+import android.view.View;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Framework calls are stubbed (returnDefaultValues), the test thread is the main thread
+ * and posted commands run when the pending queue is drained.
+ */
+public class WheelDispatcherTest {
+
+    private final WheelDispatcher dispatcher = new WheelDispatcher(new View(null));
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    public void post_runInOrder() throws Exception {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 100; i++) {
+                    dispatcher.post(record("command " + i));
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertTrue(calls.isEmpty());
+        assertTrue(dispatcher.runPending());
+        assertEquals(100, calls.size());
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("command " + i, calls.get(i));
+        }
+    }
+
+    @Test
+    public void runPending_commandPostedWhileRunningRunsAfter() throws Exception {
+        dispatcher.post(new Runnable() {
+            @Override
+            public void run() {
+                calls.add("first");
+                dispatcher.post(record("third"));
+            }
+        });
+        dispatcher.post(record("second"));
+
+        dispatcher.runPending();
+
+        assertEquals(3, calls.size());
+        assertEquals("first", calls.get(0));
+        assertEquals("second", calls.get(1));
+        assertEquals("third", calls.get(2));
+
+        // the queue is drained
+        dispatcher.runPending();
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    public void listeners_inOrderOnExecutor() throws Exception {
+        final List<Runnable> queued = new ArrayList<>();
+
+        dispatcher.setListenerExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                queued.add(command);
+            }
+        });
+
+        SpinningWheelView.OnRotationListener<String> listener = new SpinningWheelView.OnRotationListener<String>() {
+            @Override
+            public void onRotation() {
+                calls.add("rotation");
+            }
+
+            @Override
+            public void onStopRotation(String item) {
+                calls.add("stop " + item);
+            }
+        };
+
+        dispatcher.notifyRotation(listener);
+        dispatcher.notifySelectionChanged(new SpinningWheelView.OnSelectionChangeListener() {
+            @Override
+            public void onSelectionChanged(int oldIndex, int newIndex) {
+                calls.add("selection " + oldIndex + " " + newIndex);
+            }
+        }, 0, 1);
+        dispatcher.notifyStopRotation(listener, "B");
+
+        // nothing runs on the calling thread
+        assertTrue(calls.isEmpty());
+        assertEquals(3, queued.size());
+
+        for (Runnable command : queued) {
+            command.run();
+        }
+
+        assertEquals("rotation", calls.get(0));
+        assertEquals("selection 0 1", calls.get(1));
+        assertEquals("stop B", calls.get(2));
+    }
+
+    @Test
+    public void listeners_calledDirectlyWithoutExecutor() throws Exception {
+        dispatcher.notifyAngleChanged(new SpinningWheelView.OnAngleChangeListener() {
+            @Override
+            public void onAngleChanged(float angle) {
+                calls.add("angle " + angle);
+            }
+        }, 90);
+
+        assertEquals(1, calls.size());
+        assertEquals("angle 90.0", calls.get(0));
+    }
+
+    private Runnable record(final String call) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                calls.add(call);
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Framework calls are stubbed (returnDefaultValues), only the batching of the properties is tested.
+ */
+public class WheelEditorTest {
+
+    @Test
+    public void edit_visibleOnlyAfterApply() throws Exception {
+        SpinningWheelView wheelView = new SpinningWheelView(null);
+
+        WheelEditor editor = wheelView.edit()
+                .setWheelTextSize(42)
+                .setWheelStrokeWidth(3)
+                .setItems(Arrays.asList("A", "B", "C"));
+
+        assertEquals(0, wheelView.getWheelStrokeWidth(), 0);
+        assertNull(wheelView.getItems());
+
+        editor.apply();
+
+        assertEquals(42, wheelView.getWheelTextSize(), 0);
+        assertEquals(3, wheelView.getWheelStrokeWidth(), 0);
+        assertEquals(3, wheelView.getItems().size());
+    }
+}
@@ -0,0 +1,24 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Plain JVM test of the image downsampling, decoded bitmaps must never be smaller than the wedge.
+ */
+public class WheelImageCacheTest {
+
+    @Test
+    public void sampleSize_keepLongestSideAtLeastSize() throws Exception {
+        assertEquals(1, WheelImageCache.getSampleSize(100, 100, 100));
+        assertEquals(1, WheelImageCache.getSampleSize(199, 50, 100));
+        assertEquals(2, WheelImageCache.getSampleSize(200, 50, 100));
+        assertEquals(8, WheelImageCache.getSampleSize(1200, 3000, 256));
+    }
+
+    @Test
+    public void sampleSize_smallImageNotSampled() throws Exception {
+        assertEquals(1, WheelImageCache.getSampleSize(32, 32, 256));
+    }
+}
@@ -0,0 +1,72 @@
+package com.adefruandta.spinningwheel;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plain JVM test of the image slots, a broken image must not keep the draw path polling the cache.
+ */
+public class WheelImageSlotsTest {
+
+    @Test
+    public void failedImage_resolvedAfterItsDecode() throws Exception {
+        final AtomicInteger decodes = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        WheelModel model = new WheelModel();
+        model.setItems(Arrays.asList(new ImageItem(new WheelImage("broken") {
+            @Override
+            protected Bitmap decode(BitmapFactory.Options options) throws IOException {
+                decodes.incrementAndGet();
+                throw new IOException("broken");
+            }
+        })));
+
+        WheelImageCache cache = new WheelImageCache(1024);
+        WheelImageSlots slots = new WheelImageSlots();
+        Runnable callback = new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        };
+
+        assertFalse(slots.update(model, cache, 64, callback));
+        assertTrue(slots.isLoading());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        // the decode callback counts the failed image as resolved
+        slots.update(model, cache, 64, callback);
+        assertFalse(slots.isLoading());
+        assertEquals(null, slots.get(0));
+
+        slots.update(model, cache, 64, callback);
+        assertEquals(1, decodes.get());
+    }
+
+    private static final class ImageItem implements WheelImageItem {
+
+        private final WheelImage image;
+
+        ImageItem(WheelImage image) {
+            this.image = image;
+        }
+
+        @Override
+        public WheelImage getImage() {
+            return image;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.adefruandta.spinningwheel;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Plain JVM test of the label cache, only the drawn labels are built, once per invalidation.
+ */
+public class WheelLabelCacheTest {
+
+    private final List<Item> items = new ArrayList<>();
+
+    private final WheelModel model = new WheelModel();
+
+    private final WheelLabelCache cache = new WheelLabelCache();
+
+    private final Paint paint = new Paint();
+
+    private final Canvas canvas = new Canvas();
+
+    @Before
+    public void setUp() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            items.add(new Item("item " + i));
+        }
+
+        model.setItems(items);
+    }
+
+    @Test
+    public void update_buildsNoLabel() throws Exception {
+        cache.update(model, paint, 100, WheelLabelCache.MODE_START, 1);
+        cache.update(model, paint, 100, WheelLabelCache.MODE_START, 1);
+
+        assertEquals(0, getLabelReads());
+    }
+
+    @Test
+    public void draw_buildsDrawnLabelOnce() throws Exception {
+        for (int frame = 0; frame < 3; frame++) {
+            cache.update(model, paint, 100, WheelLabelCache.MODE_START, 1);
+            cache.draw(canvas, 3, 0, 0);
+            cache.draw(canvas, 500, 0, 0);
+        }
+
+        assertEquals(1, items.get(3).reads);
+        assertEquals(1, items.get(500).reads);
+        assertEquals(2, getLabelReads());
+        assertEquals("item 3", cache.getText(3));
+    }
+
+    @Test
+    public void invalidateItems_rebuildsOnlyChangedItems() throws Exception {
+        cache.update(model, paint, 100, WheelLabelCache.MODE_START, 1);
+        cache.draw(canvas, 3, 0, 0);
+        cache.draw(canvas, 4, 0, 0);
+
+        items.set(4, new Item("changed"));
+        cache.invalidateItems();
+
+        cache.update(model, paint, 100, WheelLabelCache.MODE_START, 1);
+        cache.draw(canvas, 3, 0, 0);
+        cache.draw(canvas, 4, 0, 0);
+
+        assertEquals(1, items.get(3).reads);
+        assertEquals(1, items.get(4).reads);
+        assertEquals("changed", cache.getText(4));
+    }
+
+    @Test
+    public void styleChange_rebuildsDrawnLabels() throws Exception {
+        cache.update(model, paint, 100, WheelLabelCache.MODE_START, 1);
+        cache.draw(canvas, 3, 0, 0);
+
+        cache.update(model, paint, 50, WheelLabelCache.MODE_START, 1);
+        cache.draw(canvas, 3, 0, 0);
+
+        assertEquals(2, items.get(3).reads);
+    }
+
+    @Test
+    public void rangeUpdates_keepShiftedEntries() throws Exception {
+        cache.update(model, paint, 100, WheelLabelCache.MODE_START, 1);
+        cache.draw(canvas, 3, 0, 0);
+        cache.draw(canvas, 500, 0, 0);
+
+        items.add(0, new Item("first"));
+        cache.onItemRangeInserted(0, 1);
+        cache.update(model, paint, 100, WheelLabelCache.MODE_START, 1);
+
+        assertEquals("item 3", cache.getText(4));
+        assertEquals("item 500", cache.getText(501));
+        assertEquals("first", cache.getText(0));
+
+        items.remove(0);
+        cache.onItemRangeRemoved(0, 1);
+        cache.update(model, paint, 100, WheelLabelCache.MODE_START, 1);
+
+        assertEquals("item 3", cache.getText(3));
+        assertEquals(1, items.get(3).reads);
+        assertEquals(1, items.get(500).reads);
+    }
+
+    private int getLabelReads() {
+        int reads = 0;
+
+        for (Item item : items) {
+            reads += item.reads;
+        }
+
+        return reads;
+    }
+
+    private static final class Item {
+
+        private final String label;
+
+        private int reads;
+
+        Item(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            reads++;
+            return label;
+        }
+    }
+}
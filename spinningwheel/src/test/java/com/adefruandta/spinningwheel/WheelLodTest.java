@@ -0,0 +1,93 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plain JVM test of the wedge merging and label decimation of the scalable mode.
+ */
+public class WheelLodTest {
+
+    @Test
+    public void runs_coverWholeWheel() throws Exception {
+        WheelAngleTable table = new WheelAngleTable();
+        table.set(1000, null);
+
+        WheelLod lod = new WheelLod();
+        lod.build(table, 2, 10);
+
+        assertTrue(lod.getRunCount() < 1000);
+        assertCovered(lod);
+
+        for (int run = 0; run < lod.getRunCount(); run++) {
+            assertTrue(lod.getRunSweep(run) >= 2 || run == lod.getRunCount() - 1);
+        }
+    }
+
+    @Test
+    public void labels_neverCloserThanMinAngle() throws Exception {
+        WheelAngleTable table = new WheelAngleTable();
+        table.set(1000, null);
+
+        WheelLod lod = new WheelLod();
+        lod.build(table, 2, 10);
+
+        int count = lod.getLabelCount();
+        assertTrue(count > 1);
+
+        for (int label = 1; label < count; label++) {
+            assertTrue(lod.getLabelAngle(label) - lod.getLabelAngle(label - 1) >= 10);
+        }
+
+        // across 0 degree
+        assertTrue(lod.getLabelAngle(0) + 360 - lod.getLabelAngle(count - 1) >= 10);
+    }
+
+    @Test
+    public void runs_weightedKeepWideWedges() throws Exception {
+        float[] weights = new float[203];
+
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1;
+        }
+
+        // wide wedges right after thin ones
+        weights[1] = 100;
+        weights[102] = 100;
+
+        WheelAngleTable table = new WheelAngleTable();
+        table.set(weights.length, weights);
+
+        WheelLod lod = new WheelLod();
+        lod.build(table, 5, 10);
+
+        assertCovered(lod);
+
+        int wide = 0;
+
+        for (int run = 0; run < lod.getRunCount(); run++) {
+            int item = lod.getRunItem(run);
+
+            if (item == 1 || item == 102) {
+                assertEquals(table.getSweep(item), lod.getRunSweep(run), 0.001f);
+                wide++;
+            }
+        }
+
+        assertEquals(2, wide);
+    }
+
+    // runs follow each other from 0 to 360 degrees
+    private static void assertCovered(WheelLod lod) {
+        float end = 0;
+
+        for (int run = 0; run < lod.getRunCount(); run++) {
+            assertEquals(end, lod.getRunStart(run), 0.01f);
+            end = lod.getRunStart(run) + lod.getRunSweep(run);
+        }
+
+        assertEquals(360, end, 0.01f);
+    }
+}
@@ -0,0 +1,57 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Plain JVM test of the metrics aggregation.
+ */
+public class WheelMetricsTest {
+
+    private static final long MILLIS = 1000000;
+
+    // bucket size of the histogram
+    private static final double PRECISION = 0.1 * MILLIS;
+
+    private WheelMetrics metrics;
+
+    @Before
+    public void setUp() throws Exception {
+        metrics = new WheelMetrics();
+    }
+
+    @Test
+    public void drawTime_percentiles() throws Exception {
+        // 1 ms to 100 ms
+        for (int i = 1; i <= 100; i++) {
+            metrics.onDraw(i * MILLIS);
+        }
+
+        assertEquals(100, metrics.getDrawCount());
+        assertEquals(50 * MILLIS, metrics.getDrawTime(50), PRECISION);
+        assertEquals(95 * MILLIS, metrics.getDrawTime(95), PRECISION);
+        assertEquals(100 * MILLIS, metrics.getDrawTime(100));
+    }
+
+    @Test
+    public void drawTime_emptyIsZero() throws Exception {
+        assertEquals(0, metrics.getDrawTime(50));
+    }
+
+    @Test
+    public void spinFrame_missedFrames() throws Exception {
+        long frame = SpinEngine.FRAME_INTERVAL;
+
+        metrics.onSpinFrame(frame, SpinEngine.getMissedFrames(frame, frame));
+        metrics.onSpinFrame(frame * 3, SpinEngine.getMissedFrames(frame * 3, frame));
+
+        assertEquals(2, metrics.getSpinFrameCount());
+        assertEquals(2, metrics.getMissedFrameCount());
+
+        metrics.reset();
+        assertEquals(0, metrics.getSpinFrameCount());
+        assertEquals(0, metrics.getMissedFrameCount());
+    }
+}
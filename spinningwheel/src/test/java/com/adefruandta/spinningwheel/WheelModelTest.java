@@ -0,0 +1,243 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plain JVM test of the headless wheel model, no android framework involved.
+ */
+public class WheelModelTest {
+
+    private static final long FRAME_NANOS = 16666667;
+
+    private WheelModel model;
+
+    @Before
+    public void setUp() throws Exception {
+        model = new WheelModel();
+        model.setItems(Arrays.asList("A", "B", "C", "D"));
+        model.setRandom(new Random(42));
+    }
+
+    @Test
+    public void selectedIndex_isItemUnderArrow() throws Exception {
+        // arrow on the top, first item start on the right and go clockwise
+        assertEquals(3, model.getSelectedIndex());
+
+        model.rotate(90);
+        assertEquals(2, model.getSelectedIndex());
+
+        model.rotate(-180);
+        assertEquals(0, model.getSelectedIndex());
+    }
+
+    @Test
+    public void selectedIndex_weighted() throws Exception {
+        // A: 0..180, B: 180..270, C: 270..315, D: 315..360
+        model.setItems(Arrays.asList("A", "B", "C", "D"), new float[]{4, 2, 1, 1});
+
+        assertEquals(2, model.getSelectedIndex());
+        assertEquals(1, model.getIndexAt(45));
+        assertEquals(0, model.getIndexAt(180));
+    }
+
+    @Test
+    public void indexAt_anyTurn() throws Exception {
+        for (int turn = -3; turn <= 3; turn++) {
+            assertEquals(3, model.getIndexAt(turn * 360f));
+            assertEquals(2, model.getIndexAt(turn * 360f + 90));
+            assertEquals(0, model.getIndexAt(turn * 360f - 135));
+        }
+
+        // the arrow on a wedge edge selects the item starting there
+        assertEquals(2, model.getIndexAt(0.01f));
+        assertEquals(3, model.getIndexAt(-0.01f));
+    }
+
+    @Test
+    public void indexAt_noItem() throws Exception {
+        model.setItems(new ArrayList());
+
+        assertEquals(-1, model.getSelectedIndex());
+        assertEquals(-1, model.getIndexAt(90));
+    }
+
+    @Test
+    public void spinTo_easedStopOnTarget() throws Exception {
+        model.setWedgeJitter(1);
+        model.setEasing(WheelEasing.overshoot());
+
+        for (int index = 0; index < model.getItemSize(); index++) {
+            model.spinTo(index, 3, 3000);
+            runSpin();
+
+            assertEquals(index, model.getSelectedIndex());
+        }
+    }
+
+    @Test
+    public void easing_interpolateSamples() throws Exception {
+        WheelEasing easing = WheelEasing.cubicDecelerate();
+
+        assertEquals(0, easing.getInterpolation(0), 0);
+        assertEquals(1, easing.getInterpolation(1), 0);
+        assertEquals(1, easing.getInterpolation(2), 0);
+        assertEquals(0.875f, easing.getInterpolation(0.5f), 0.0001f);
+        assertEquals(1 - 0.7f * 0.7f * 0.7f, easing.getInterpolation(0.3f), 0.001f);
+    }
+
+    @Test
+    public void finishSpin_jumpToStop() throws Exception {
+        model.spinTo(1, 3, 3000);
+        model.update(0);
+        model.update(FRAME_NANOS);
+
+        model.finishSpin();
+
+        assertFalse(model.isSpinning());
+        assertEquals(1, model.getSelectedIndex());
+    }
+
+    @Test
+    public void tick_countWedgeBoundaries() throws Exception {
+        final int[] ticks = new int[2];
+
+        model.addOnTickListener(new WheelModel.OnTickListener() {
+            @Override
+            public void onTick(WheelModel model, int crossings) {
+                ticks[0]++;
+                ticks[1] += crossings;
+            }
+        });
+
+        // arrow leaves the wedge of D
+        model.rotate(45);
+        assertEquals(1, ticks[1]);
+
+        // inside the wedge of C
+        model.rotate(-10);
+        assertEquals(1, ticks[0]);
+
+        // one turn in one rotation is merged into one tick
+        model.rotate(360);
+        assertEquals(2, ticks[0]);
+        assertEquals(5, ticks[1]);
+
+        model.rotate(-360);
+        assertEquals(9, ticks[1]);
+    }
+
+    @Test
+    public void spinTo_stopOnTarget() throws Exception {
+        model.setWedgeJitter(1);
+
+        for (int index = 0; index < model.getItemSize(); index++) {
+            model.spinTo(index, 3, 3000);
+            assertEquals(index, model.getStopIndex());
+
+            runSpin();
+
+            assertFalse(model.isSpinning());
+            assertEquals(index, model.getSelectedIndex());
+        }
+    }
+
+    @Test
+    public void update_sameTimeComputeOnce() throws Exception {
+        final int[] rotations = new int[1];
+
+        model.addOnChangeListener(new WheelModel.OnChangeListener() {
+            @Override
+            public void onRotate(WheelModel model, float angle) {
+                rotations[0]++;
+            }
+
+            @Override
+            public void onItemsChanged(WheelModel model) {
+            }
+
+            @Override
+            public void onItemRangeChanged(WheelModel model, int positionStart, int itemCount) {
+            }
+
+            @Override
+            public void onItemRangeInserted(WheelModel model, int positionStart, int itemCount) {
+            }
+
+            @Override
+            public void onItemRangeRemoved(WheelModel model, int positionStart, int itemCount) {
+            }
+
+            @Override
+            public void onSpinStop(WheelModel model) {
+            }
+        });
+
+        model.spin(50, 3000, 50);
+
+        assertTrue(model.update(FRAME_NANOS));
+        assertTrue(model.update(FRAME_NANOS));
+        assertEquals(1, rotations[0]);
+    }
+
+    @Test
+    public void modifiedItems_notifiedOnlyWhenAsked() throws Exception {
+        final int[] changes = new int[1];
+        List items = new ArrayList(Arrays.asList("A", "B", "C", "D"));
+        model.setItems(items);
+
+        model.addOnChangeListener(new WheelModel.OnChangeListener() {
+            @Override
+            public void onRotate(WheelModel model, float angle) {
+            }
+
+            @Override
+            public void onItemsChanged(WheelModel model) {
+                changes[0]++;
+            }
+
+            @Override
+            public void onItemRangeChanged(WheelModel model, int positionStart, int itemCount) {
+            }
+
+            @Override
+            public void onItemRangeInserted(WheelModel model, int positionStart, int itemCount) {
+            }
+
+            @Override
+            public void onItemRangeRemoved(WheelModel model, int positionStart, int itemCount) {
+            }
+
+            @Override
+            public void onSpinStop(WheelModel model) {
+            }
+        });
+
+        items.remove(3);
+
+        // getters stay in range without notifying, e.g. during draw
+        assertEquals(2, model.getSelectedIndex());
+        assertEquals(3, model.getAngleTable().size());
+        assertEquals(0, changes[0]);
+
+        model.notifyItemsChanged();
+        assertEquals(1, changes[0]);
+    }
+
+    private void runSpin() {
+        long time = 0;
+
+        while (model.update(time)) {
+            time += FRAME_NANOS;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plain JVM test of the wedge resize animation, from the sweeps drawn on screen to the table of the model.
+ */
+public class WheelResizeAnimationTest {
+
+    private final WheelResizeAnimation animation = new WheelResizeAnimation();
+
+    private final WheelAngleTable target = new WheelAngleTable();
+
+    @Before
+    public void setUp() throws Exception {
+        animation.setDuration(300);
+
+        // four equal wedges on screen
+        target.set(4, null);
+        animation.getTable(target, 0);
+    }
+
+    @Test
+    public void insert_growFromZero() throws Exception {
+        animation.onItemRangeInserted(1, 1);
+        target.set(5, null);
+        assertTrue(animation.isRunning());
+
+        // starts from the sweeps on screen
+        WheelAngleTable drawn = animation.getTable(target, 1000);
+        assertEquals(0f, drawn.getSweep(1), 0.001f);
+        assertEquals(90f, drawn.getSweep(0), 0.001f);
+        assertEquals(90f, drawn.getSweep(4), 0.001f);
+
+        // decelerated, 3/4 of the way at half the duration
+        drawn = animation.getTable(target, 1150);
+        assertEquals(54f, drawn.getSweep(1), 0.001f);
+        assertEquals(76.5f, drawn.getSweep(0), 0.001f);
+        assertEquals(360f, drawn.getStart(4) + drawn.getSweep(4), 0.001f);
+
+        // ends on the table of the model
+        assertSame(target, animation.getTable(target, 1300));
+        assertFalse(animation.isRunning());
+    }
+
+    @Test
+    public void remove_neighboursGrow() throws Exception {
+        animation.onItemRangeRemoved(0, 2);
+        target.set(2, null);
+
+        // removed wedges disappear at once, the others fill the circle
+        WheelAngleTable drawn = animation.getTable(target, 1000);
+        assertEquals(2, drawn.size());
+        assertEquals(180f, drawn.getSweep(0), 0.001f);
+        assertEquals(180f, drawn.getSweep(1), 0.001f);
+    }
+
+    @Test
+    public void change_resizeToWeights() throws Exception {
+        animation.onItemRangeChanged(0, 1);
+        target.set(4, new float[]{5, 1, 1, 1});
+
+        assertEquals(90f, animation.getTable(target, 1000).getSweep(0), 0.001f);
+        assertEquals(225f, animation.getTable(target, 1300).getSweep(0), 0.001f);
+    }
+
+    @Test
+    public void batch_startsOnce() throws Exception {
+        animation.onItemRangeInserted(0, 1);
+        animation.onItemRangeInserted(5, 1);
+        target.set(6, null);
+
+        WheelAngleTable drawn = animation.getTable(target, 1000);
+        assertEquals(6, drawn.size());
+        assertEquals(0f, drawn.getSweep(0), 0.001f);
+        assertEquals(0f, drawn.getSweep(5), 0.001f);
+        assertEquals(90f, drawn.getSweep(1), 0.001f);
+    }
+
+    @Test
+    public void interrupted_restartsFromScreen() throws Exception {
+        animation.onItemRangeInserted(4, 1);
+        target.set(5, null);
+        animation.getTable(target, 1000);
+        WheelAngleTable drawn = animation.getTable(target, 1150);
+        float sweep = drawn.getSweep(4);
+
+        animation.onItemRangeChanged(4, 1);
+        target.set(5, new float[]{1, 1, 1, 1, 2});
+
+        assertEquals(sweep, animation.getTable(target, 1160).getSweep(4), 0.001f);
+    }
+
+    @Test
+    public void noDuration_drawModelTable() throws Exception {
+        animation.setDuration(0);
+
+        animation.onItemRangeInserted(0, 1);
+        target.set(5, null);
+
+        assertFalse(animation.isRunning());
+        assertSame(target, animation.getTable(target, 1000));
+    }
+}
@@ -0,0 +1,83 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Plain JVM test of the render cache sharing, wheels with the same layer must share one cache.
+ */
+public class WheelResourcesTest {
+
+    private static final int[] COLORS = {0xffee4035, 0xfff37736, 0xfffdf498};
+
+    @Test
+    public void cacheKey_equalForSameLayer() throws Exception {
+        WheelStyle style = new WheelStyle();
+        style.setColors(COLORS);
+
+        assertEquals(key(style, 100, "A", "B", "C"), key(style, 100, "A", "B", "C"));
+        assertEquals(key(style, 100, "A", "B", "C").hashCode(), key(style, 100, "A", "B", "C").hashCode());
+        assertNotEquals(key(style, 100, "A", "B", "C"), key(style, 100, "A", "B", "D"));
+        assertNotEquals(key(style, 100, "A", "B", "C"), key(style, 120, "A", "B", "C"));
+
+        WheelStyle other = new WheelStyle(style);
+        other.setColors(COLORS.clone());
+        assertEquals(key(style, 100, "A", "B", "C"), key(other, 100, "A", "B", "C"));
+
+        other.setTextSize(40);
+        assertNotEquals(key(style, 100, "A", "B", "C"), key(other, 100, "A", "B", "C"));
+    }
+
+    @Test
+    public void cacheKey_colorsChangedInPlace() throws Exception {
+        int[] colors = COLORS.clone();
+        WheelStyle style = new WheelStyle();
+        style.setColors(colors);
+
+        WheelCacheKey before = key(style, 100, "A", "B", "C");
+
+        // the style and the key keep their own copy
+        colors[0] = 0xff000000;
+        assertEquals(before, key(style, 100, "A", "B", "C"));
+
+        style.setColors(colors);
+        assertNotEquals(before, key(style, 100, "A", "B", "C"));
+    }
+
+    @Test
+    public void cache_sharedUntilReleased() throws Exception {
+        WheelStyle style = new WheelStyle();
+        style.setColors(COLORS);
+
+        WheelResources resources = WheelResources.getInstance();
+        WheelCacheKey key = key(style, 64, "X", "Y", "Z");
+
+        assertNull(resources.acquireCache(key));
+
+        WheelResources.CacheEntry first = resources.putCache(key, new WheelCache(), 64 * 64 * 4);
+        WheelResources.CacheEntry second = resources.acquireCache(key(style, 64, "X", "Y", "Z"));
+        assertSame(first, second);
+        assertEquals(2, first.refs);
+
+        // idle cache is kept for the next bind
+        resources.releaseCache(first);
+        resources.releaseCache(second);
+        assertEquals(0, first.refs);
+        assertSame(first, resources.acquireCache(key));
+
+        resources.releaseCache(first);
+    }
+
+    private static WheelCacheKey key(WheelStyle style, int size, String... labels) {
+        WheelModel model = new WheelModel();
+        model.setItems(Arrays.asList(labels));
+
+        return new WheelCacheKey(style, size, size, model, model.getAngleTable());
+    }
+}
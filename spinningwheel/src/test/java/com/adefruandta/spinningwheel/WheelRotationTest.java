@@ -0,0 +1,122 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plain JVM test of the spin curves sampled on every frame, the legacy rotation and the easing tables.
+ */
+public class WheelRotationTest {
+
+    @Test
+    public void legacyRotation_endpoints() throws Exception {
+        WheelRotation rotation = WheelRotation.init(3000, 50).setMaxAngle(50);
+
+        assertEquals(3000, rotation.getDuration());
+        assertEquals(0, rotation.getAngle(0), 0);
+
+        // elapsed time is clamped to the spin
+        assertEquals(rotation.getAngle(3000), rotation.getAngle(4000), 0);
+        assertEquals(0, rotation.getAngle(-100), 0);
+    }
+
+    @Test
+    public void legacyRotation_slowDownToStop() throws Exception {
+        WheelRotation rotation = WheelRotation.init(3000, 50).setMaxAngle(50);
+
+        float previous = 0;
+        float previousStep = Float.MAX_VALUE;
+
+        for (int t = 2000; t <= 3000; t += 100) {
+            float angle = rotation.getAngle(t);
+            float step = angle - previous;
+
+            assertTrue(angle >= previous);
+
+            if (t > 2000) {
+                assertTrue(step <= previousStep);
+                previousStep = step;
+            }
+
+            previous = angle;
+        }
+
+        // speed is 0 at the end of the spin
+        assertEquals(rotation.getAngle(3000), rotation.getAngle(2999), 0.01f);
+    }
+
+    @Test
+    public void legacyRotation_negativeAngleMirrored() throws Exception {
+        WheelRotation clockwise = WheelRotation.init(3000, 50).setMaxAngle(50);
+        WheelRotation counterClockwise = WheelRotation.init(3000, 50).setMaxAngle(-50);
+
+        for (int t = 0; t <= 3000; t += 250) {
+            assertEquals(-clockwise.getAngle(t), counterClockwise.getAngle(t), 0);
+        }
+    }
+
+    @Test
+    public void easing_endpoints() throws Exception {
+        WheelEasing[] easings = {
+                WheelEasing.cubicDecelerate(),
+                WheelEasing.exponentialFriction(),
+                WheelEasing.overshoot()
+        };
+
+        for (WheelEasing easing : easings) {
+            assertEquals(0, easing.getInterpolation(0), 0.0001f);
+            assertEquals(1, easing.getInterpolation(1), 0.0001f);
+
+            // out of range input is clamped
+            assertEquals(0, easing.getInterpolation(-1), 0.0001f);
+            assertEquals(1, easing.getInterpolation(2), 0.0001f);
+        }
+    }
+
+    @Test
+    public void easing_customCurveSampled() throws Exception {
+        final int[] calls = new int[1];
+
+        WheelEasing easing = WheelEasing.of(new WheelEasing.Curve() {
+            @Override
+            public float getInterpolation(float input) {
+                calls[0]++;
+                return input * input;
+            }
+        });
+
+        int sampled = calls[0];
+
+        assertEquals(0.25f, easing.getInterpolation(0.5f), 0.0001f);
+        assertEquals(0.5625f, easing.getInterpolation(0.75f), 0.0001f);
+
+        // frames read the table, the curve is never called again
+        assertEquals(sampled, calls[0]);
+    }
+
+    @Test
+    public void easing_overshootPassesStop() throws Exception {
+        WheelEasing easing = WheelEasing.overshoot();
+        float max = 0;
+
+        for (int i = 0; i <= 100; i++) {
+            max = Math.max(max, easing.getInterpolation(i / 100f));
+        }
+
+        assertTrue(max > 1);
+        assertEquals(1, WheelEasing.overshoot(0).getInterpolation(0.99f), 0.001f);
+    }
+
+    @Test
+    public void easing_fromType() throws Exception {
+        assertEquals(null, WheelEasing.fromType(WheelEasing.TYPE_LEGACY));
+        assertEquals(0.875f, WheelEasing.fromType(WheelEasing.TYPE_CUBIC).getInterpolation(0.5f), 0.0001f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void easing_rejectNoFriction() throws Exception {
+        WheelEasing.exponentialFriction(0);
+    }
+}
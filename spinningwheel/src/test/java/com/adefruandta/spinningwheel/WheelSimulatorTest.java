@@ -0,0 +1,68 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Plain JVM test of the spin simulator, outcome must match the model and the seed.
+ */
+public class WheelSimulatorTest {
+
+    private static final long FRAME_NANOS = 16666667;
+
+    private WheelModel model;
+
+    private WheelSimulator simulator;
+
+    @Before
+    public void setUp() throws Exception {
+        model = new WheelModel();
+        model.setItems(Arrays.asList("A", "B", "C", "D", "E"), new float[]{1, 2, 3, 1, 1});
+
+        simulator = new WheelSimulator(model)
+                .setMaxAngle(30, 60)
+                .setDuration(2000, 4000);
+    }
+
+    @Test
+    public void stopIndex_matchModelSpin() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            float maxAngle = 30 + i * 1.7f;
+            long duration = 2000 + i * 97;
+            int expected = simulator.getStopIndex(model.getAngle(), maxAngle, duration);
+
+            model.spin(maxAngle, duration, 50);
+            runSpin();
+
+            assertEquals(expected, model.getSelectedIndex());
+        }
+    }
+
+    @Test
+    public void run_sameSeedSameHistogram() throws Exception {
+        long count = 200000;
+        long[] histogram = simulator.run(7, count);
+
+        assertArrayEquals(histogram, simulator.run(7, count));
+        assertArrayEquals(histogram, simulator.run(7, count, 4));
+
+        long total = 0;
+        for (long value : histogram) {
+            total += value;
+        }
+        assertEquals(count, total);
+    }
+
+    private void runSpin() {
+        long time = 0;
+
+        while (model.update(time)) {
+            time += FRAME_NANOS;
+        }
+    }
+}
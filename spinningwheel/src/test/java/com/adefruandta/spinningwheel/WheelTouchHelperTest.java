@@ -0,0 +1,37 @@
+package com.adefruandta.spinningwheel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Plain JVM test of the angular drag math, no touch event involved.
+ */
+public class WheelTouchHelperTest {
+
+    @Test
+    public void angleDelta_shortestAcrossAtan2Edge() throws Exception {
+        assertEquals(20, WheelTouchHelper.getAngleDelta(170, -170), 0.001f);
+        assertEquals(-20, WheelTouchHelper.getAngleDelta(-170, 170), 0.001f);
+        assertEquals(-30, WheelTouchHelper.getAngleDelta(30, 0), 0.001f);
+    }
+
+    @Test
+    public void velocity_onlyLatestWindow() throws Exception {
+        AngularVelocityTracker tracker = new AngularVelocityTracker();
+
+        // slow start, then 90 degrees in 100 millis
+        tracker.addSample(0, 0);
+        tracker.addSample(500, 10);
+
+        for (int i = 1; i <= 10; i++) {
+            tracker.addSample(500 + i * 10, 10 + i * 9);
+        }
+
+        assertEquals(900, tracker.getVelocity(), 0.1f);
+
+        tracker.clear();
+        tracker.addSample(0, 0);
+        assertEquals(0, tracker.getVelocity(), 0);
+    }
+}